@@ -0,0 +1,110 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sling.feature.ArtifactId;
+import org.apache.sling.feature.Feature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.adobe.aem.analyser.fixtures.FixtureGenerator;
+import com.adobe.aem.project.ServiceType;
+
+/**
+ * Benchmark for building the user, product and final aggregates
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AemAggregatorBenchmark {
+
+    @Param({"10", "50"})
+    int features;
+
+    @Param({"100", "1000"})
+    int productBundles;
+
+    private Path dir;
+
+    private File inputDir;
+
+    private File outputDir;
+
+    private Map<ProductVariation, List<Feature>> productAggregates;
+
+    @Setup
+    public void setup() throws IOException {
+        this.dir = Files.createTempDirectory("aggregator-benchmark");
+        this.inputDir = Files.createDirectories(this.dir.resolve("fm.in")).toFile();
+        this.outputDir = Files.createDirectories(this.dir.resolve("fm.out")).toFile();
+
+        FixtureGenerator.createConverterOutput(this.inputDir, this.features, 5, 10);
+
+        this.productAggregates = new HashMap<>();
+        for(final SdkProductVariation variation : SdkProductVariation.values()) {
+            this.productAggregates.put(variation, List.of(
+                FixtureGenerator.createProductFeature(variation, "1.0", this.productBundles, this.productBundles)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FixtureGenerator.delete(this.dir);
+    }
+
+    @Benchmark
+    public List<Feature> aggregate() throws IOException {
+        final AemAggregator aggregator = new AemAggregator();
+        aggregator.setFeatureInputDirectory(this.inputDir);
+        aggregator.setFeatureOutputDirectory(this.outputDir);
+        aggregator.setProjectId(ArtifactId.parse("com.adobe.aem.fixture:project:1.0.0"));
+        aggregator.setArtifactProvider(id -> null);
+        aggregator.setFeatureProvider(id -> null);
+        aggregator.setEnableDuplicateBundleHandling(true);
+        aggregator.setProductFeatureGenerator(new ProductFeatureGenerator() {
+
+            @Override
+            public Map<ProductVariation, List<Feature>> getProductAggregates(final EnumSet<ServiceType> serviceTypes) {
+                return productAggregates;
+            }
+
+            @Override
+            public ProductVariation getVariation(final String name) {
+                return name.contains("author") ? SdkProductVariation.AUTHOR : SdkProductVariation.PUBLISH;
+            }
+        });
+        return aggregator.aggregate();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sling.feature.ArtifactId;
+import org.apache.sling.feature.Feature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.adobe.aem.analyser.fixtures.FixtureGenerator;
+import com.adobe.aem.analyser.impl.ProviderTypeAnalyserTask;
+import com.adobe.aem.analyser.result.AemAnalyserResult;
+
+/**
+ * Benchmark for analysing user and final aggregates
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AemAnalyserBenchmark {
+
+    private static final String USER_TASKS = "bundle-resources,bundle-unversioned-packages,aem-env-var,configurations-basic,aem-provider-type";
+
+    private static final String FINAL_TASKS = "requirements-capabilities,api-regions-exportsimports";
+
+    @Param({"10", "100"})
+    int bundles;
+
+    private Path dir;
+
+    private final Map<ArtifactId, URL> artifacts = new HashMap<>();
+
+    private final List<Feature> features = new ArrayList<>();
+
+    @Setup
+    public void setup() throws IOException {
+        this.dir = Files.createTempDirectory("analyser-benchmark");
+
+        final File apiJar = this.dir.resolve("api.jar").toFile();
+        FixtureGenerator.createApiJar(apiJar, List.of(FixtureGenerator.PROVIDER_TYPE));
+        ProviderTypeAnalyserTask.initializeProviderTypeInfo(ArtifactId.parse("com.adobe.aem:aem-sdk-api:1.0.0"), apiJar);
+
+        final List<ArtifactId> ids = FixtureGenerator.createBundleIds("project", this.bundles);
+        for(final ArtifactId id : ids) {
+            final File bundle = this.dir.resolve(id.toMvnName()).toFile();
+            FixtureGenerator.createBundle(bundle, id, 10, 0);
+            this.artifacts.put(id, bundle.toURI().toURL());
+        }
+
+        for(final String classifier : new String[] {"user-aggregated-author", "user-aggregated-publish",
+                "aggregated-author", "aggregated-publish"}) {
+            final ArtifactId id = new ArtifactId(FixtureGenerator.GROUP_ID, "project", "1.0.0", classifier, "slingosgifeature");
+            this.features.add(FixtureGenerator.createFeature(id, ids, this.bundles));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FixtureGenerator.delete(this.dir);
+    }
+
+    @Benchmark
+    public AemAnalyserResult analyse() throws Exception {
+        final AemAnalyser analyser = new AemAnalyser();
+        analyser.setArtifactProvider(this::provide);
+        analyser.setIncludedUserTasks(new LinkedHashSet<>(Arrays.asList(USER_TASKS.split(","))));
+        analyser.setIncludedTasks(new LinkedHashSet<>(Arrays.asList(FINAL_TASKS.split(","))));
+        return analyser.analyse(this.features);
+    }
+
+    private URL provide(final ArtifactId id) {
+        return this.artifacts.get(id);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sling.feature.cpconverter.ConverterException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.adobe.aem.analyser.fixtures.FixtureGenerator;
+
+/**
+ * Benchmark for converting content packages into feature models
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AemPackageConverterBenchmark {
+
+    @Param({"10", "100"})
+    int bundles;
+
+    private Path dir;
+
+    private File contentPackage;
+
+    private Path outputDir;
+
+    @Setup
+    public void setup() throws IOException {
+        this.dir = Files.createTempDirectory("converter-benchmark");
+        this.contentPackage = this.dir.resolve("bench.all.zip").toFile();
+        FixtureGenerator.createContentPackage(this.contentPackage, "bench", this.bundles, 5, this.bundles);
+        this.outputDir = this.dir.resolve("cp-conversion");
+    }
+
+    @Setup(Level.Invocation)
+    public void cleanOutput() throws IOException {
+        FixtureGenerator.delete(this.outputDir);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FixtureGenerator.delete(this.dir);
+    }
+
+    @Benchmark
+    public void convert() throws IOException, ConverterException {
+        final AemPackageConverter converter = new AemPackageConverter();
+        converter.setConverterOutputDirectory(this.outputDir.toFile());
+        converter.setFeatureOutputDirectory(this.outputDir.resolve("fm.out").toFile());
+        converter.convert(Collections.singletonMap("com.adobe.aem.fixture:bench.all:zip:1.0.0", this.contentPackage));
+    }
+}
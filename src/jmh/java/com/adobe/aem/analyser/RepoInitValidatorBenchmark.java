@@ -0,0 +1,82 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sling.feature.ArtifactId;
+import org.apache.sling.feature.Feature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.adobe.aem.analyser.fixtures.FixtureGenerator;
+
+/**
+ * Benchmark for validating repoinit statements in an in-memory repository
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepoInitValidatorBenchmark {
+
+    private static final ArtifactId NODETYPES_BUNDLE_ID = ArtifactId.parse("com.adobe.aem.fixture:nodetypes:1.0.0");
+
+    @Param({"10", "100"})
+    int statements;
+
+    private Path dir;
+
+    private URL nodetypesBundle;
+
+    private Feature feature;
+
+    @Setup
+    public void setup() throws IOException {
+        this.dir = Files.createTempDirectory("repoinit-benchmark");
+        final File bundle = this.dir.resolve("nodetypes.jar").toFile();
+        FixtureGenerator.createBundle(bundle, NODETYPES_BUNDLE_ID, 0, 10);
+        this.nodetypesBundle = bundle.toURI().toURL();
+
+        this.feature = FixtureGenerator.createFeature(ArtifactId.parse("com.adobe.aem.fixture:project:slingosgifeature:aggregated-author:1.0.0"),
+            List.of(NODETYPES_BUNDLE_ID), 0);
+        FixtureGenerator.addRepoInit(this.feature, this.statements);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FixtureGenerator.delete(this.dir);
+    }
+
+    @Benchmark
+    public void validate() throws Exception {
+        new RepoInitValidator(id -> NODETYPES_BUNDLE_ID.equals(id) ? this.nodetypesBundle : null).validate(this.feature);
+    }
+}
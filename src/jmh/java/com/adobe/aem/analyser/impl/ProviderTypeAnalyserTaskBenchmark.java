@@ -0,0 +1,66 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.adobe.aem.analyser.fixtures.FixtureGenerator;
+
+/**
+ * Benchmark for checking a single class file for provider type usage
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProviderTypeAnalyserTaskBenchmark {
+
+    private final ProviderTypeAnalyserTask task = new ProviderTypeAnalyserTask();
+
+    private final Set<String> providerTypes = Set.of(FixtureGenerator.PROVIDER_TYPE, "org.apache.sling.api.adapter.AdapterFactory");
+
+    private byte[] providerClass;
+
+    private byte[] plainClass;
+
+    @Setup
+    public void setup() throws IOException {
+        this.providerClass = FixtureGenerator.createClass("com.adobe.aem.bench.Provider", null, FixtureGenerator.PROVIDER_TYPE, "java.io.Serializable");
+        this.plainClass = FixtureGenerator.createClass("com.adobe.aem.bench.Plain", "com.adobe.aem.bench.Base", "java.lang.Runnable");
+    }
+
+    @Benchmark
+    public String checkProviderClass() throws IOException {
+        return this.task.getProviderTypes(this.providerTypes, new ByteArrayInputStream(this.providerClass));
+    }
+
+    @Benchmark
+    public String checkPlainClass() throws IOException {
+        return this.task.getProviderTypes(this.providerTypes, new ByteArrayInputStream(this.plainClass));
+    }
+}
@@ -22,12 +22,15 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 import java.util.stream.StreamSupport;
 
 import org.apache.sling.feature.Artifact;
@@ -97,6 +100,32 @@ public class AemAggregator {
 
     private boolean enableDuplicateBundleHandling = false;
 
+    private PhaseTimings phaseTimings = new PhaseTimings();
+
+    private Map<String, Feature> productAggregateCache;
+
+    private Function<ArtifactId, String> featureFingerprints;
+
+    /** The keys of the aggregates built so far, by mvn id of the aggregate */
+    private final Map<String, String> aggregateKeys = new HashMap<>();
+
+    /** The product data shared by the final aggregates */
+    private final ProductDataPool productDataPool = new ProductDataPool();
+
+    /**
+     * @return the phase timings
+     */
+    public PhaseTimings getPhaseTimings() {
+        return phaseTimings;
+    }
+
+    /**
+     * @param phaseTimings the phase timings to record the aggregation phases in
+     */
+    public void setPhaseTimings(final PhaseTimings phaseTimings) {
+        this.phaseTimings = phaseTimings;
+    }
+
     /**
      * Is the special handling for duplicate bundles enabled?
      * @return {@code true} if enabled
@@ -184,6 +213,56 @@ public class AemAggregator {
         this.productFeatureGenerator = productFeatureGenerator;
     }
 
+    /**
+     * Get the cache for product aggregates
+     * @return The cache or {@code null}
+     */
+    public Map<String, Feature> getProductAggregateCache() {
+        return productAggregateCache;
+    }
+
+    /**
+     * Set a cache for product aggregates. The product aggregates only depend on the SDK
+     * and the add-ons, so the same cache can be used when aggregating several projects,
+     * for example all modules of a build. The cache must be thread-safe if it is used
+     * concurrently.
+     * @param productAggregateCache The cache
+     */
+    public void setProductAggregateCache(final Map<String, Feature> productAggregateCache) {
+        this.productAggregateCache = productAggregateCache;
+    }
+
+    /**
+     * Get the fingerprints of the product features
+     * @return The function returning the fingerprint of a feature or {@code null}
+     * @since 1.7.3
+     */
+    public Function<ArtifactId, String> getFeatureFingerprints() {
+        return featureFingerprints;
+    }
+
+    /**
+     * Set the fingerprints of the product features, for example the path, modification time and
+     * size of the feature files. The fingerprints are part of the keys in the product aggregate cache,
+     * so a SNAPSHOT or re-installed SDK or add-on with the same id is aggregated again. Without
+     * fingerprints, the product aggregates are cached by the ids of the product features only.
+     * @param featureFingerprints The function returning the fingerprint of a feature, or {@code null}
+     * @since 1.7.3
+     */
+    public void setFeatureFingerprints(final Function<ArtifactId, String> featureFingerprints) {
+        this.featureFingerprints = featureFingerprints;
+    }
+
+    /**
+     * Get the keys describing how the aggregates have been built. The key of an aggregate
+     * consists of the aggregation mode and the keys of its input features. Aggregates with
+     * the same key only differ in their id.
+     * @return An unmodifiable map from the mvn id of an aggregate to its key
+     */
+    public Map<String, String> getAggregateKeys() {
+        return Collections.unmodifiableMap(aggregateKeys);
+    }
+
     /**
      * @return the projectId
      */
@@ -309,55 +388,188 @@ public class AemAggregator {
     }
 
     /**
-     * Create the aggregates and return the final one
-     * @return The list of final aggregates
+     * Create the aggregates and return them, the user aggregates followed by the final aggregates
+     * @return The list of aggregates
      * @throws IOException If something goes wrong
      */
     public List<Feature> aggregate() throws IOException {
-        // read all features
-        final Map<String, Feature> projectFeatures = readFeatures();
+        final List<Feature> finalResult = new ArrayList<>();
+        final List<Feature> result = new ArrayList<>();
+        try {
+            result.addAll(this.aggregateFinal(finalResult::add));
+        } catch ( final IOException | RuntimeException e ) {
+            throw e;
+        } catch ( final Exception e ) {
+            // not thrown as adding to the list does not throw
+            throw new IOException(e.getMessage(), e);
+        }
+        result.addAll(finalResult);
+        return result;
+    }
 
-        // Produce the user aggregates
-        final Map<String, List<Feature>> userAggregates = getUserAggregates(projectFeatures);
+    /**
+     * Consumer for the aggregates of {@link AemAggregator#aggregate(AggregateConsumer)}
+     * @since 1.7.3
+     */
+    @FunctionalInterface
+    public interface AggregateConsumer {
 
-        final List<Feature> userResult = this.aggregate(userAggregates, Mode.USER, projectFeatures);
+        /**
+         * Called for each user and final aggregate
+         * @param feature The aggregate
+         * @return {@code false} to stop the aggregation
+         * @throws Exception If processing the aggregate fails
+         */
+        boolean accept(Feature feature) throws Exception;
+    }
 
-        // Produce the product aggregates
-        final Map<ProductVariation, List<Feature>> productAggregates = getProductAggregates();
+    /**
+     * Create the aggregates and pass them to the consumer one after the other. Each product
+     * aggregate is built right before the final aggregates using it, and released afterwards.
+     * Each final aggregate is released once the consumer returns, so the memory used does not
+     * grow with the number of final aggregates. The user aggregates are passed last, as they
+     * get the configuration api and artifact rules of the final aggregates. The aggregation
+     * stops as soon as the consumer returns {@code false}.
+     * @param consumer The consumer
+     * @throws Exception If aggregation fails or the consumer throws
+     * @since 1.7.3
+     */
+    public void aggregate(final AggregateConsumer consumer) throws Exception {
+        final List<Feature> userResult = this.aggregateFinal(consumer);
+        if ( userResult != null ) {
+            for(final Feature f : userResult) {
+                if ( !consumer.accept(f) ) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Create the aggregates, pass the final aggregates to the consumer and return the user aggregates
+     * @param consumer The consumer for the final aggregates
+     * @return The user aggregates or {@code null} if the consumer stopped the aggregation
+     * @throws Exception If aggregation fails or the consumer throws
+     */
+    private List<Feature> aggregateFinal(final AggregateConsumer consumer) throws Exception {
+        this.aggregateKeys.clear();
+        final Map<String, Feature> projectFeatures;
+        final Map<String, List<Feature>> userAggregates;
+        final List<Feature> userResult;
+        try ( final PhaseTimings.Timer t = this.getPhaseTimings().start(AnalyserPhase.USER_AGGREGATION) ) {
+            projectFeatures = readFeatures();
+            userAggregates = getUserAggregates(projectFeatures);
+            userResult = this.aggregate(userAggregates, Mode.USER, projectFeatures);
+        }
 
-        this.aggregateFeatureInfo(productAggregates, Mode.PRODUCT, projectFeatures);
+        final Map<ProductVariation, List<Feature>> productAggregates;
+        try ( final PhaseTimings.Timer t = this.getPhaseTimings().start(AnalyserPhase.PRODUCT_AGGREGATION) ) {
+            productAggregates = getProductAggregates();
+        }
 
-        // Produce the final aggregates
-        final Map<String, List<Feature>> finalAggregates = getFinalAggregates(userAggregates, projectFeatures);
+        // configuration api and artifact rules are taken from the final author or publish aggregate
+        final Set<String> infoNames = new HashSet<>();
+        for(final ProductVariation variation : productAggregates.keySet()) {
+            infoNames.add(variation.getFinalAggregateName());
+            infoNames.add(variation.getFinalAggregateName().concat(".prod"));
+        }
+        final Map<String, ConfigurationApi> apis = new HashMap<>();
+        final Map<String, ArtifactRules> finalRules = new HashMap<>();
+
+        // final aggregates with the same inputs are read from the already written file
+        final Map<String, File> written = new HashMap<>();
+        final Set<String> pendingUserAggregates = new HashSet<>(userAggregates.keySet());
+        try {
+            for(final Map.Entry<ProductVariation, List<Feature>> product : productAggregates.entrySet()) {
+                final String productName = product.getKey().getProductAggregateName();
+                final Map<String, List<Feature>> users = new LinkedHashMap<>();
+                for(final Map.Entry<String, List<Feature>> user : userAggregates.entrySet()) {
+                    if ( product.getKey().equals(getProductFeatureGenerator().getVariation(user.getKey())) ) {
+                        users.put(user.getKey(), user.getValue());
+                    }
+                }
+                try ( final PhaseTimings.Timer t = this.getPhaseTimings().start(AnalyserPhase.PRODUCT_AGGREGATION) ) {
+                    this.aggregate(Collections.singletonMap(productName, product.getValue()), Mode.PRODUCT, projectFeatures);
+                }
 
-        final List<Feature> finalResult = this.aggregate(finalAggregates, Mode.FINAL, projectFeatures);
+                for(final Map.Entry<String, List<Feature>> aggregate : getFinalAggregates(users, projectFeatures).entrySet()) {
+                    final Feature feature;
+                    try ( final PhaseTimings.Timer t = this.getPhaseTimings().start(AnalyserPhase.FINAL_AGGREGATION) ) {
+                        logger.info("Building aggregate feature model {}...", aggregate.getKey());
+                        final String aggregateKey = this.getAggregateKey(aggregate, Mode.FINAL);
+                        final Map<String, Feature> assembled = new HashMap<>();
+                        final File identical = written.get(aggregateKey);
+                        if ( identical != null ) {
+                            try (final Reader reader = new FileReader(identical)) {
+                                assembled.put(aggregateKey, FeatureJSONReader.read(reader, identical.getName()));
+                            }
+                        }
+                        try ( final PhaseTimings.Timer t2 = this.getPhaseTimings().start(AnalyserPhase.FINAL_AGGREGATION, aggregate.getKey()) ) {
+                            feature = this.aggregateFeature(aggregate, Mode.FINAL, projectFeatures, assembled);
+                        }
+                        written.putIfAbsent(aggregateKey, new File(this.getFeatureOutputDirectory(), aggregate.getKey().concat(".json")));
+                        if ( infoNames.contains(aggregate.getKey()) ) {
+                            apis.put(aggregate.getKey(), ConfigurationApi.getConfigurationApi(feature));
+                            final ArtifactRules r = ArtifactRules.getArtifactRules(feature);
+                            if ( r != null ) {
+                                finalRules.put(aggregate.getKey(), r);
+                            }
+                        }
+                    }
+                    projectFeatures.remove(aggregate.getKey());
+                    if ( !consumer.accept(feature) ) {
+                        return null;
+                    }
+                }
+                pendingUserAggregates.removeAll(users.keySet());
+                projectFeatures.remove(productName);
+            }
+        } finally {
+            this.productDataPool.clear();
+        }
+        if ( !pendingUserAggregates.isEmpty() ) {
+            throw new IllegalArgumentException("Did not find a product aggregate for " + pendingUserAggregates.iterator().next());
+        }
 
-        // find final author and publish feature and get configuration api and artifact rules
-        Map<ProductVariation, ConfigurationApi> apiMapping = new HashMap<>();
-        Map<ProductVariation, ArtifactRules> rules = new HashMap<>();
-        for ( ProductVariation variation : productAggregates.keySet()) {
-            final Feature f = findFeature(finalResult, variation);
-            final ConfigurationApi configApi = ConfigurationApi.getConfigurationApi(f);
-            apiMapping.put(variation, configApi);
-            final ArtifactRules r = ArtifactRules.getArtifactRules(f);
-            if (r != null) {
-                rules.put(variation, r);
+        // configuration api and artifact rules per variation, the ".prod" aggregate is used if there is no other
+        final Map<ProductVariation, ConfigurationApi> apiMapping = new HashMap<>();
+        final Map<ProductVariation, ArtifactRules> rules = new HashMap<>();
+        for ( final ProductVariation variation : productAggregates.keySet()) {
+            String name = variation.getFinalAggregateName();
+            if ( !apis.containsKey(name) ) {
+                name = name.concat(".prod");
+            }
+            if ( !apis.containsKey(name) ) {
+                throw new IOException("Unable to find final feature for variation " + variation);
+            }
+            apiMapping.put(variation, apis.get(name));
+            if ( finalRules.containsKey(name) ) {
+                rules.put(variation, finalRules.get(name));
             }
         }
+        this.addProductInfo(userResult, apiMapping, rules);
+        return userResult;
+    }
 
-        // add configuration api and artifact rules to all user features
+    /**
+     * Add the configuration api and artifact rules of the final aggregates to the user aggregates.
+     * The user aggregates are written again, so the written files match the analysed features.
+     */
+    private void addProductInfo(final List<Feature> userResult,
+            final Map<ProductVariation, ConfigurationApi> apiMapping,
+            final Map<ProductVariation, ArtifactRules> rules) throws IOException {
         for(final Feature f : userResult) {
             ProductVariation variation = getProductFeatureGenerator().getVariation(f.getId().getClassifier());
             ConfigurationApi configApi = apiMapping.get(variation);
             ConfigurationApi.setConfigurationApi(f, configApi);
             ArtifactRules r = rules.get(variation);
             ArtifactRules.setArtifactRules(f, r);
+            if ( variation != null ) {
+                // the user aggregates now depend on the variation as well
+                this.aggregateKeys.computeIfPresent(f.getId().toMvnId(), (id, key) -> key.concat("@").concat(variation.getProductAggregateName()));
+            }
+            this.writeFeature(f);
         }
-
-        final List<Feature> result = new ArrayList<>();
-        result.addAll(userResult);
-        result.addAll(finalResult);
-        return result;
     }
 
     // visible for testing
@@ -365,36 +577,6 @@ public class AemAggregator {
         return getUserFeatureAggregator().getUserAggregates(projectFeatures, serviceTypes);
     }
 
-    /**
-     * Find a feature, either author or publish
-     * @throws IOException
-     */
-    private Feature findFeature(final List<Feature> finalFeatures, final ProductVariation variation) throws IOException {
-        Feature f = findFeatureWithClassifier(finalFeatures, variation.getFinalAggregateName());
-        if ( f == null )
-            f = findFeatureWithClassifier(finalFeatures, variation.getFinalAggregateName()+".prod");
-
-        if ( f == null )
-            throw new IOException("Unable to find final feature for variation " + variation);
-
-        return f;
-    }
-
-    /**
-     * Search a feature with the given classifier
-     * @param features List of features
-     * @param classifier  The classifier
-     * @return The feature or {@code null}
-     */
-    private Feature findFeatureWithClassifier(final List<Feature> features, final String classifier) {
-        for(final Feature f : features) {
-            if ( f.getId().getClassifier().equals(classifier)) {
-                return f;
-            }
-        }
-        return null;
-    }
-
     private Map<String, Feature> readFeatures() throws IOException {
         final Map<String, Feature> result = new HashMap<>();
         for(final File f : this.getFeatureInputDirectory().listFiles()) {
@@ -457,81 +639,171 @@ public class AemAggregator {
         return feature;
     }
 
-    private void aggregateFeatureInfo(Map<ProductVariation, List<Feature>> productAggregates, Mode product,
-            Map<String, Feature> projectFeatures) throws IOException {
-        aggregate(productAggregates.entrySet().stream().collect(Collectors.toMap( e -> e.getKey().getProductAggregateName(),  Map.Entry::getValue)), product, projectFeatures);
-    }
-
-
     List<Feature> aggregate(final Map<String, List<Feature>> aggregates, final Mode mode,
         final Map<String, Feature> projectFeatures) throws IOException {
 
         final List<Feature> result = new ArrayList<>();
+        // aggregates with the same inputs are only assembled once
+        final Map<String, Feature> assembled = new HashMap<>();
         for (final Map.Entry<String, List<Feature>> aggregate : aggregates.entrySet()) {
 
             logger.info("Building aggregate feature model {}...", aggregate.getKey());
+            try ( final PhaseTimings.Timer t = this.getPhaseTimings().start(getPhase(mode), aggregate.getKey()) ) {
+                result.add(this.aggregateFeature(aggregate, mode, projectFeatures, assembled));
+            }
+        }
 
-            final BuilderContext builderContext = new BuilderContext(new FeatureProvider(){
+        return result;
+    }
 
-                @Override
-                public Feature provide(final ArtifactId id) {
-                    // check in selection
-                    for (final Feature feat : projectFeatures.values()) {
-                        if (feat.getId().equals(id)) {
-                            return feat;
-                        }
+    private static AnalyserPhase getPhase(final Mode mode) {
+        switch (mode) {
+            case USER: return AnalyserPhase.USER_AGGREGATION;
+            case PRODUCT: return AnalyserPhase.PRODUCT_AGGREGATION;
+            default: return AnalyserPhase.FINAL_AGGREGATION;
+        }
+    }
+
+    /**
+     * Build a single aggregate, write it to the output directory and add it to the project features
+     */
+    private Feature aggregateFeature(final Map.Entry<String, List<Feature>> aggregate, final Mode mode,
+            final Map<String, Feature> projectFeatures, final Map<String, Feature> assembled) throws IOException {
+
+        final ArtifactId newFeatureID = this.getProjectId().changeClassifier(aggregate.getKey()).changeType(FEATUREMODEL_TYPE);
+        final String aggregateKey = this.getAggregateKey(aggregate, mode);
+        final Feature identical = assembled.get(aggregateKey);
+
+        final String cacheKey = mode == Mode.PRODUCT && this.getProductAggregateCache() != null
+            ? getProductAggregateCacheKey(aggregate) : null;
+        final Feature cached = cacheKey != null ? this.getProductAggregateCache().get(cacheKey) : null;
+        final Feature feature;
+        if ( identical != null ) {
+            logger.debug("Aggregate {} has the same input as {}", aggregate.getKey(), identical.getId().getClassifier());
+            feature = identical.copy(newFeatureID);
+        } else if ( cached != null ) {
+            logger.debug("Using cached product aggregate {}", cacheKey);
+            feature = cached.copy(newFeatureID);
+        } else {
+            feature = this.assembleFeature(aggregate, mode, projectFeatures, newFeatureID);
+            if ( cacheKey != null ) {
+                // store a copy, the returned feature might be changed later on
+                this.getProductAggregateCache().putIfAbsent(cacheKey, feature.copy());
+            }
+        }
+        if ( mode == Mode.FINAL ) {
+            final int shared = this.productDataPool.share(feature);
+            logger.debug("Aggregate {} shares {} product entries with other aggregates", aggregate.getKey(), shared);
+        }
+        assembled.putIfAbsent(aggregateKey, feature);
+        this.aggregateKeys.put(newFeatureID.toMvnId(), aggregateKey);
+
+        this.writeFeature(feature);
+        projectFeatures.put(aggregate.getKey(), feature);
+
+        return feature;
+    }
+
+    /**
+     * Write an aggregate to the output directory, using its classifier as the file name
+     */
+    private void writeFeature(final Feature feature) throws IOException {
+        final File featureFile = new File(this.getFeatureOutputDirectory(), feature.getId().getClassifier().concat(".json"));
+        try ( final Writer writer = new FileWriter(featureFile)) {
+            FeatureJSONWriter.write(writer, feature);
+        }
+
+        if ( artifactsDeployer != null ) {
+            artifactsDeployer.deploy(new FileArtifactWriter(featureFile), null, feature.getId());
+        }
+    }
+
+    /**
+     * Assemble a single aggregate
+     */
+    private Feature assembleFeature(final Map.Entry<String, List<Feature>> aggregate, final Mode mode,
+            final Map<String, Feature> projectFeatures, final ArtifactId newFeatureID) throws IOException {
+
+        final BuilderContext builderContext = new BuilderContext(new FeatureProvider(){
+
+            @Override
+            public Feature provide(final ArtifactId id) {
+                // check in selection
+                for (final Feature feat : projectFeatures.values()) {
+                    if (feat.getId().equals(id)) {
+                        return feat;
                     }
-                    return getFeatureProvider().provide(id);
                 }
-            });
-            builderContext.setArtifactProvider(getArtifactProvider());
+                return getFeatureProvider().provide(id);
+            }
+        });
+        builderContext.setArtifactProvider(getArtifactProvider());
 
-            builderContext.addMergeExtensions(StreamSupport.stream(Spliterators.spliteratorUnknownSize(
-                    ServiceLoader.load(MergeHandler.class).iterator(), Spliterator.ORDERED),
-                    false).toArray(MergeHandler[]::new))
-                .addPostProcessExtensions(StreamSupport.stream(Spliterators.spliteratorUnknownSize(
-                    ServiceLoader.load(PostProcessHandler.class).iterator(), Spliterator.ORDERED),
-                    false).toArray(PostProcessHandler[]::new));
+        builderContext.addMergeExtensions(StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                ServiceLoader.load(MergeHandler.class).iterator(), Spliterator.ORDERED),
+                false).toArray(MergeHandler[]::new))
+            .addPostProcessExtensions(StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                ServiceLoader.load(PostProcessHandler.class).iterator(), Spliterator.ORDERED),
+                false).toArray(PostProcessHandler[]::new));
 
-            // specific rules for the different aggregates
-            List<ArtifactId> artifactOverrides = getArtifactsOverrides(mode);
-            artifactOverrides.forEach(builderContext::addArtifactsOverride);
+        // specific rules for the different aggregates
+        List<ArtifactId> artifactOverrides = getArtifactsOverrides(mode);
+        artifactOverrides.forEach(builderContext::addArtifactsOverride);
 
-            builderContext.addConfigsOverrides(Collections.singletonMap("*", "MERGE_LATEST"));
+        builderContext.addConfigsOverrides(Collections.singletonMap("*", "MERGE_LATEST"));
 
-            final ArtifactId newFeatureID = this.getProjectId().changeClassifier(aggregate.getKey()).changeType(FEATUREMODEL_TYPE);
+        final Feature feature = FeatureBuilder.assemble(newFeatureID, builderContext,
+              aggregate.getValue().toArray(new Feature[aggregate.getValue().size()]));
 
-            final Feature feature = FeatureBuilder.assemble(newFeatureID, builderContext,
-                  aggregate.getValue().toArray(new Feature[aggregate.getValue().size()]));
+        // special handling for exactly same mvn coordinates in user and product feature
+        if ( mode == Mode.FINAL && this.isEnableDuplicateBundleHandling()) {
+            handleDuplicateBundles(aggregate, feature);
+        }
 
-            // special handling for exactly same mvn coordinates in user and product feature
-            if ( mode == Mode.FINAL && this.isEnableDuplicateBundleHandling()) {
-                handleDuplicateBundles(aggregate, feature);
-            }
+        postProcessProductFeature(feature);
 
-            postProcessProductFeature(feature);
+        // The aggregate inherits the pre-computed system bundle scanner cache key from the SDK feature,
+        // but its framework properties are the union of all merged features. Add-ons (e.g. forms) may
+        // contribute extra framework properties, which makes the inherited cache key stale and forces a
+        // framework scan at analysis time. Recompute the cache key against the aggregate's framework
+        // properties so the analyser's scanner cache is hit instead.
+        refreshSystemBundleCacheKey(feature);
 
-            // The aggregate inherits the pre-computed system bundle scanner cache key from the SDK feature,
-            // but its framework properties are the union of all merged features. Add-ons (e.g. forms) may
-            // contribute extra framework properties, which makes the inherited cache key stale and forces a
-            // framework scan at analysis time. Recompute the cache key against the aggregate's framework
-            // properties so the analyser's scanner cache is hit instead.
-            refreshSystemBundleCacheKey(feature);
+        return feature;
+    }
 
-            final File featureFile = new File(this.getFeatureOutputDirectory(), aggregate.getKey().concat(".json"));
-            try ( final Writer writer = new FileWriter(featureFile)) {
-                FeatureJSONWriter.write(writer, feature);
+    /**
+     * The key of an aggregate, consisting of the mode and the keys of the input features.
+     * Input features which are aggregates themselves are represented by their key, other
+     * features by their id.
+     */
+    private String getAggregateKey(final Map.Entry<String, List<Feature>> aggregate, final Mode mode) {
+        final StringBuilder sb = new StringBuilder(mode.name()).append('(');
+        boolean first = true;
+        for(final Feature f : aggregate.getValue()) {
+            if ( !first ) {
+                sb.append(',');
             }
+            first = false;
+            final String id = f.getId().toMvnId();
+            sb.append(this.aggregateKeys.getOrDefault(id, id));
+        }
+        return sb.append(')').toString();
+    }
 
-            if ( artifactsDeployer != null ) {
-                artifactsDeployer.deploy(new FileArtifactWriter(featureFile), null, newFeatureID);
+    /**
+     * The key for caching a product aggregate, consisting of the name of the aggregate and the
+     * ids and fingerprints of the input features
+     */
+    private String getProductAggregateCacheKey(final Map.Entry<String, List<Feature>> aggregate) {
+        final StringBuilder sb = new StringBuilder(aggregate.getKey());
+        for(final Feature f : aggregate.getValue()) {
+            sb.append('|').append(f.getId().toMvnId());
+            if ( this.getFeatureFingerprints() != null ) {
+                sb.append('@').append(this.getFeatureFingerprints().apply(f.getId()));
             }
-            projectFeatures.put(aggregate.getKey(), feature);
-
-            result.add(feature);
         }
-
-        return result;
+        return sb.toString();
     }
 
     protected List<ArtifactId> getArtifactsOverrides(Mode mode) {
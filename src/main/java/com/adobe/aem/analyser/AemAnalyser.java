@@ -18,12 +18,22 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.sling.feature.Artifact;
 import org.apache.sling.feature.Configuration;
@@ -74,6 +84,25 @@ public class AemAnalyser {
         + ",configurations-basic"
         + ",aem-provider-type";
 
+    /*
+     * The following tasks only read the feature, their reports can be cached and they can run concurrently
+     */
+
+    /** Tasks only reading the configurations of a feature */
+    private static final Set<String> CONFIGURATION_TASKS = new HashSet<>(Arrays.asList("aem-env-var", "configurations-basic"));
+
+    /** Tasks only reading the bundles of a feature */
+    private static final Set<String> BUNDLE_TASKS = new HashSet<>(Arrays.asList("bundle-resources", "bundle-nativecode", "bundle-unversioned-packages"));
+
+    /** Estimated duration of a task only reading configurations, used until the task has been measured */
+    private static final long ESTIMATED_CONFIGURATION_TASK_COST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /** Estimated duration of a task only reading bundles, used until the task has been measured */
+    private static final long ESTIMATED_BUNDLE_TASK_COST = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /** Estimated duration of any other task, used until the task has been measured */
+    private static final long ESTIMATED_TASK_COST = TimeUnit.SECONDS.toNanos(1);
+
     private static final String CONTENT_PACKAGE_ORIGINS = "content-package-origins";
     private static final String CONFIGURATION_ORIGINS = Configuration.CONFIGURATOR_PREFIX.concat(CONTENT_PACKAGE_ORIGINS);
 
@@ -90,7 +119,41 @@ public class AemAnalyser {
     private Map<String, Map<String, String>> taskConfigurations;
     
     private boolean repoinitExecutionValidationEnabled;
-    
+
+    private PhaseTimings phaseTimings = new PhaseTimings();
+
+    private Map<String, String> aggregateKeys = Collections.emptyMap();
+
+    private boolean differentialAnalysis;
+
+    private Map<String, ProductIndex> productIndexCache = new HashMap<>();
+
+    private int taskThreads = 1;
+
+    private TaskResultCache taskResultCache;
+
+    private boolean failFast;
+
+    private boolean failFastOnWarnings;
+
+    private Map<String, Long> taskCosts = new ConcurrentHashMap<>();
+
+    /**
+     * An analyser together with its task
+     */
+    private static final class TaskAnalyser {
+
+        /** The task or {@code null} if the analyser runs all tasks */
+        final String task;
+
+        final Analyser analyser;
+
+        TaskAnalyser(final String task, final Analyser analyser) {
+            this.task = task;
+            this.analyser = analyser;
+        }
+    }
+
     public AemAnalyser() {
         this.setIncludedTasks(new LinkedHashSet<>(Arrays.asList(DEFAULT_TASKS.split(","))));
         this.setIncludedUserTasks(new LinkedHashSet<>(Arrays.asList(DEFAULT_USER_TASKS.split(","))));
@@ -149,6 +212,148 @@ public class AemAnalyser {
         this.repoinitExecutionValidationEnabled = repoinitExecutionValidationEnabled;
     }
 
+    /**
+     * @return the phase timings
+     */
+    public PhaseTimings getPhaseTimings() {
+        return phaseTimings;
+    }
+
+    /**
+     * @param phaseTimings the phase timings to record the analysis phases in
+     */
+    public void setPhaseTimings(final PhaseTimings phaseTimings) {
+        this.phaseTimings = phaseTimings;
+    }
+
+    /**
+     * @return the aggregate keys
+     */
+    public Map<String, String> getAggregateKeys() {
+        return aggregateKeys;
+    }
+
+    /**
+     * Set the keys of the aggregates, see {@link AemAggregator#getAggregateKeys()}. Features
+     * with the same key have the same content and are only analysed once, the result is
+     * reported for each of them.
+     * @param aggregateKeys Map from the mvn id of a feature to its key
+     */
+    public void setAggregateKeys(final Map<String, String> aggregateKeys) {
+        this.aggregateKeys = aggregateKeys;
+    }
+
+    /**
+     * @return whether differential analysis is enabled
+     */
+    public boolean isDifferentialAnalysis() {
+        return differentialAnalysis;
+    }
+
+    /**
+     * If enabled, the requirements of the product bundles of the final aggregates are not
+     * resolved. The product bundles keep their identity, exports and capabilities, so the
+     * user bundles are checked as in a full analysis, but problems within the product
+     * itself, like an unresolved import of a product bundle, are not reported.
+     *
+     * @param differentialAnalysis whether to enable differential analysis
+     */
+    public void setDifferentialAnalysis(final boolean differentialAnalysis) {
+        this.differentialAnalysis = differentialAnalysis;
+    }
+
+    /**
+     * Set the cache for the product indexes used by the differential analysis. The same
+     * cache can be used for the analysis of several projects, it must be thread-safe if
+     * it is used concurrently.
+     *
+     * @param productIndexCache The cache
+     */
+    public void setProductIndexCache(final Map<String, ProductIndex> productIndexCache) {
+        this.productIndexCache = productIndexCache;
+    }
+
+    /**
+     * @return the number of threads for running the analyser tasks of a feature
+     */
+    public int getTaskThreads() {
+        return taskThreads;
+    }
+
+    /**
+     * Set the number of threads for running the analyser tasks of a feature. With more than
+     * one thread, the tasks which only read the configurations or bundles of a feature run
+     * concurrently, all other tasks one after the other. The reports are merged in the order
+     * of the tasks. The default is {@code 1}, running the tasks one after the other.
+     *
+     * @param taskThreads The number of threads
+     */
+    public void setTaskThreads(final int taskThreads) {
+        this.taskThreads = taskThreads;
+    }
+
+    /**
+     * @return the cache for the reports of the analyser tasks
+     */
+    public TaskResultCache getTaskResultCache() {
+        return taskResultCache;
+    }
+
+    /**
+     * Set the cache for the reports of the analyser tasks. If set, the user tasks which only read
+     * the configurations or the bundles of a feature run separately, and their reports are taken
+     * from the cache if the task, its configuration and the parts of the feature it reads are unchanged.
+     *
+     * @param taskResultCache The cache or {@code null}
+     */
+    public void setTaskResultCache(final TaskResultCache taskResultCache) {
+        this.taskResultCache = taskResultCache;
+    }
+
+    /**
+     * @return whether the analysis stops at the first failure
+     */
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    /**
+     * If enabled, the analysis stops at the first failure. The tasks with the lowest cost
+     * and the smallest features are analysed first, no further work is started once a failure
+     * is reported and running tasks are cancelled. The result only contains the reports found
+     * until then.
+     *
+     * @param failFast whether to stop at the first failure
+     */
+    public void setFailFast(final boolean failFast) {
+        this.failFast = failFast;
+    }
+
+    /**
+     * @return whether warnings are failures in fail-fast mode
+     */
+    public boolean isFailFastOnWarnings() {
+        return failFastOnWarnings;
+    }
+
+    /**
+     * @param failFastOnWarnings whether warnings are failures in fail-fast mode, for example with strict validation
+     */
+    public void setFailFastOnWarnings(final boolean failFastOnWarnings) {
+        this.failFastOnWarnings = failFastOnWarnings;
+    }
+
+    /**
+     * Set the map for the measured durations of the tasks, used to run the cheapest tasks
+     * first in fail-fast mode. The same map can be used for the analysis of several projects,
+     * it must be thread-safe.
+     *
+     * @param taskCosts Map from the task id to its last duration in nanoseconds
+     */
+    public void setTaskCosts(final Map<String, Long> taskCosts) {
+        this.taskCosts = taskCosts;
+    }
+
     /**
      * @param taskConfigurations the taskConfigurations to set
      */
@@ -229,6 +434,22 @@ public class AemAnalyser {
         return analyser;
     }
 
+    /**
+     * Create the analysers for the tasks. If tasks run concurrently, their reports are cached or
+     * the analysis fails fast, there is one analyser for each task, in the order of the tasks.
+     * Otherwise a single analyser runs all tasks.
+     */
+    private List<TaskAnalyser> createAnalysers(final Scanner scanner, final Set<String> tasks, final Map<String, Map<String, String>> configs) throws IOException {
+        if ( this.getTaskThreads() <= 1 && this.getTaskResultCache() == null && !this.isFailFast() ) {
+            return Collections.singletonList(new TaskAnalyser(null, this.createAnalyser(scanner, tasks, configs)));
+        }
+        final List<TaskAnalyser> analysers = new ArrayList<>();
+        for(final String task : tasks) {
+            analysers.add(new TaskAnalyser(task, this.createAnalyser(scanner, Collections.singleton(task), configs)));
+        }
+        return analysers;
+    }
+
     protected boolean checkFinalClassifier(final String classifier) {
         return KEYS.contains(classifier);
     }
@@ -238,88 +459,418 @@ public class AemAnalyser {
     }
 
     public AemAnalyserResult analyse(final Collection<Feature> features) throws Exception {
-        final AemAnalyserResult result = new AemAnalyserResult();
-
-        final Scanner scanner = this.createScanner();
-        final Analyser userAnalyser = this.createAnalyser(scanner, this.getIncludedUserTasks(), this.getTaskConfigurations());
-        final Analyser finalAnalyser = this.createAnalyser(scanner, this.getIncludedTasks(), this.getTaskConfigurations());
-
-        final Map<String, List<AemAnalyserAnnotation>> featureErrors = new LinkedHashMap<>();
-        final Map<String, List<AemAnalyserAnnotation>> featureWarnings = new LinkedHashMap<>();
-
-        for (final Feature f : features) {
-            final String classifier = f.getId().getClassifier();
-            String msgKey = null;
-            Analyser analyser = null;
-            if ( checkFinalClassifier(classifier) ) {
-                msgKey = classifier;
-                analyser = finalAnalyser;
-            } else if ( checkUserClassifier(classifier) ) {
-                msgKey = classifier.substring(5);
-                analyser = userAnalyser;
+        final List<Feature> ordered = new ArrayList<>(features);
+        if ( this.isFailFast() ) {
+            // the smallest features first
+            ordered.sort(Comparator.comparingInt(f -> f.getBundles().size() + f.getConfigurations().size()));
+        }
+        try ( final Analysis analysis = this.startAnalysis() ) {
+            for (final Feature f : ordered) {
+                if ( analysis.isFailed() ) {
+                    break;
+                }
+                analysis.analyse(f);
             }
-            if ( analyser == null ) {
-                this.logger.info("Skipping unused feature {}", f.getId());
-                continue;
+            return analysis.finish();
+        }
+    }
+
+    /**
+     * Start an analysis of features which are passed one after the other, for example
+     * while they are aggregated. Only the reports are kept, so a feature can be released
+     * once it has been analysed. The analysis must be closed.
+     *
+     * @return The analysis
+     * @throws IOException If setting up the analysis fails
+     * @since 1.7.3
+     */
+    public Analysis startAnalysis() throws IOException {
+        return new Analysis();
+    }
+
+    /**
+     * An analysis of features passed one after the other
+     * @since 1.7.3
+     */
+    public final class Analysis implements AutoCloseable {
+
+        private final Map<String, List<AemAnalyserAnnotation>> featureErrors = new LinkedHashMap<>();
+
+        private final Map<String, List<AemAnalyserAnnotation>> featureWarnings = new LinkedHashMap<>();
+
+        private final Scanner scanner;
+
+        private final List<TaskAnalyser> userAnalysers;
+
+        private final List<TaskAnalyser> finalAnalysers;
+
+        private final ExecutorService executor;
+
+        /** results of the features with the same content */
+        private final Map<String, List<TaskResultCache.Reports>> results = new HashMap<>();
+
+        private final RepoInitValidator validator;
+
+        /** repoinit failures of the features with the same content, null if the validation succeeded */
+        private final Map<String, String> validationResults = new HashMap<>();
+
+        /** set in fail-fast mode once a failure has been reported */
+        private volatile boolean failed;
+
+        Analysis() throws IOException {
+            this.scanner = createScanner();
+            this.userAnalysers = createAnalysers(this.scanner, getIncludedUserTasks(), getTaskConfigurations());
+            this.finalAnalysers = createAnalysers(this.scanner, getIncludedTasks(), getTaskConfigurations());
+            this.validator = isRepoInitExecutionValidationEnabled() ? new RepoInitValidator(getArtifactProvider()) : null;
+            this.executor = getTaskThreads() > 1 ? Executors.newFixedThreadPool(getTaskThreads()) : null;
+        }
+
+        /**
+         * Analyse a feature. In fail-fast mode, features passed after a failure has been
+         * reported are skipped.
+         * @param f The feature
+         * @throws Exception If the analysis fails
+         */
+        public void analyse(final Feature f) throws Exception {
+            if ( this.failed ) {
+                logger.debug("Skipping feature {} after a failure", f.getId());
+                return;
+            }
+            try ( final PhaseTimings.Timer t = getPhaseTimings().start(AnalyserPhase.ANALYSIS) ) {
+                analyseFeature(f, this);
+            }
+            if ( this.validator != null && !this.failed ) {
+                try ( final PhaseTimings.Timer t = getPhaseTimings().start(AnalyserPhase.REPOINIT_VALIDATION) ) {
+                    validateRepoinitExecution(f, this);
+                }
             }
-            final AnalyserResult r = analyser.analyse(f, null, this.featureProvider);
+        }
 
-            // report errors
-            for(final GlobalReport report : r.getGlobalErrors()) {
-                featureErrors.computeIfAbsent(msgKey, key -> new ArrayList<>()).add(new AemAnalyserAnnotation(report.toString()));
+        /**
+         * Whether a failure has been reported in fail-fast mode
+         * @return {@code true} if no further features are analysed
+         */
+        public boolean isFailed() {
+            return this.failed;
+        }
+
+        /**
+         * Finish the analysis
+         * @return The result for all analysed features
+         */
+        public AemAnalyserResult finish() {
+            if ( this.failed ) {
+                logger.info("Analysis stopped after the first failure (fail-fast mode)");
+            }
+            final AemAnalyserResult result = new AemAnalyserResult();
+            logOutput(result.getErrors(), this.featureErrors, "errors");
+            logOutput(result.getWarnings(), this.featureWarnings, "warnings");
+            return result;
+        }
+
+        @Override
+        public void close() {
+            if ( this.executor != null ) {
+                this.executor.shutdownNow();
+            }
+        }
+    }
+
+    private void analyseFeature(final Feature f, final Analysis analysis) throws Exception {
+        final String classifier = f.getId().getClassifier();
+        String msgKey = null;
+        List<TaskAnalyser> analysers = null;
+        if ( checkFinalClassifier(classifier) ) {
+            msgKey = classifier;
+            analysers = analysis.finalAnalysers;
+        } else if ( checkUserClassifier(classifier) ) {
+            msgKey = classifier.substring(5);
+            analysers = analysis.userAnalysers;
+        }
+        if ( analysers == null ) {
+            this.logger.info("Skipping unused feature {}", f.getId());
+            return;
+        }
+        final String aggregateKey = this.getAggregateKeys().get(f.getId().toMvnId());
+        final String resultKey = aggregateKey == null ? null : (analysers == analysis.finalAnalysers ? "final:" : "user:").concat(aggregateKey);
+        List<TaskResultCache.Reports> r = resultKey == null ? null : analysis.results.get(resultKey);
+        if ( r != null ) {
+            this.logger.debug("Feature {} has the same content as an already analysed feature", f.getId());
+            for(final TaskResultCache.Reports reports : r) {
+                if ( reports != null ) {
+                    this.checkFailure(reports, analysis);
+                }
+            }
+        } else {
+            try ( final PhaseTimings.Timer t = this.getPhaseTimings().start(AnalyserPhase.ANALYSIS, classifier) ) {
+                final Feature analysed = analysers == analysis.finalAnalysers && this.isDifferentialAnalysis() ? this.applyProductIndex(f) : f;
+                r = this.analyse(analysers, analysis, f, analysed);
+            }
+            if ( resultKey != null ) {
+                analysis.results.put(resultKey, r);
             }
-            for(final ArtifactReport report : r.getArtifactErrors()) {
-                featureErrors.computeIfAbsent(msgKey, key -> new ArrayList<>()).add(getArtifactAnnotation(f, report));
+        }
+
+        // the reports are in task order
+        for(final TaskResultCache.Reports reports : r) {
+            if ( reports == null ) {
+                continue;
             }
-            for(final ExtensionReport report : r.getExtensionErrors()) {
-                featureErrors.computeIfAbsent(msgKey, key -> new ArrayList<>()).add(getExtensionAnnotation(f, report));
+            if ( !reports.getErrors().isEmpty() ) {
+                analysis.featureErrors.computeIfAbsent(msgKey, key -> new ArrayList<>()).addAll(reports.getErrors());
             }
-            for(final ConfigurationReport report : r.getConfigurationErrors()) {
-                featureErrors.computeIfAbsent(msgKey, key -> new ArrayList<>()).add(getConfigurationAnnotation(f, report));
+            if ( !reports.getWarnings().isEmpty() ) {
+                analysis.featureWarnings.computeIfAbsent(msgKey, key -> new ArrayList<>()).addAll(reports.getWarnings());
             }
+        }
+    }
 
-            // report warnings
-            for(final GlobalReport report : r.getGlobalWarnings()) {
-                featureWarnings.computeIfAbsent(msgKey, key -> new ArrayList<>()).add(new AemAnalyserAnnotation(report.toString()));
+    /**
+     * Run the analysers on the feature. Reports of tasks which are found in the task result
+     * cache are not calculated again. If the analysis has an executor, the remaining analysers
+     * of the tasks which only read the feature run concurrently, all other tasks run one after
+     * the other afterwards. The feature is scanned upfront, so the analysers get the descriptors
+     * from the cache of the shared scanner. In fail-fast mode, the cheapest tasks run first and
+     * no further task is started once a task reports a failure; running tasks are cancelled.
+     * @param original The feature used for the annotations
+     * @param feature The feature to analyse
+     * @return The reports in the order of the analysers, {@code null} for tasks not run
+     */
+    private List<TaskResultCache.Reports> analyse(final List<TaskAnalyser> analysers, final Analysis analysis,
+            final Feature original, final Feature feature) throws Exception {
+        final TaskResultCache.Reports[] reports = new TaskResultCache.Reports[analysers.size()];
+        final String[] cacheKeys = new String[analysers.size()];
+        final Map<String, String> fingerprints = new HashMap<>();
+        final List<Integer> pending = new ArrayList<>();
+        for(int i = 0; i < analysers.size(); i++) {
+            cacheKeys[i] = this.getTaskCacheKey(analysers.get(i).task, feature, fingerprints);
+            reports[i] = cacheKeys[i] == null ? null : this.getTaskResultCache().get(cacheKeys[i]);
+            if ( reports[i] == null ) {
+                pending.add(i);
+            } else {
+                this.logger.debug("Using cached reports of task {} for feature {}", analysers.get(i).task, feature.getId());
+                this.checkFailure(reports[i], analysis);
+            }
+        }
+        if ( this.isFailFast() ) {
+            pending.sort(Comparator.comparingLong(i -> this.getTaskCost(analysers.get(i).task)));
+        }
+        if ( pending.size() > 1 ) {
+            analysis.scanner.scan(feature);
+        }
+        // only the tasks known to just read the feature run concurrently
+        final List<Integer> concurrent = new ArrayList<>();
+        final List<Integer> sequential = new ArrayList<>();
+        for(final int i : pending) {
+            if ( analysis.executor != null && isConcurrentTask(analysers.get(i).task) ) {
+                concurrent.add(i);
+            } else {
+                sequential.add(i);
+            }
+        }
+        if ( concurrent.size() <= 1 ) {
+            sequential.addAll(0, concurrent);
+            concurrent.clear();
+        }
+        final List<Integer> completed = new ArrayList<>();
+        if ( !concurrent.isEmpty() && !analysis.failed ) {
+            final CompletionService<TaskResultCache.Reports> service = new ExecutorCompletionService<>(analysis.executor);
+            final Map<Future<TaskResultCache.Reports>, Integer> futures = new LinkedHashMap<>();
+            for(final int i : concurrent) {
+                final TaskAnalyser analyser = analysers.get(i);
+                futures.put(service.submit(() -> this.runTask(analyser, original, feature)), i);
             }
-            for(final ArtifactReport report : r.getArtifactWarnings()) {
-                featureWarnings.computeIfAbsent(msgKey, key -> new ArrayList<>()).add(getArtifactAnnotation(f, report));
+            try {
+                for(int j = 0; j < futures.size() && !analysis.failed; j++) {
+                    final Future<TaskResultCache.Reports> future = service.take();
+                    final int i = futures.get(future);
+                    try {
+                        reports[i] = future.get();
+                    } catch (final ExecutionException e) {
+                        if ( e.getCause() instanceof Exception ) {
+                            throw (Exception) e.getCause();
+                        }
+                        throw e;
+                    }
+                    completed.add(i);
+                    this.checkFailure(reports[i], analysis);
+                }
+            } finally {
+                // only left over if the analysis failed
+                futures.keySet().forEach(f -> f.cancel(true));
             }
-            for(final ExtensionReport report : r.getExtensionWarnings()) {
-                featureWarnings.computeIfAbsent(msgKey, key -> new ArrayList<>()).add(getExtensionAnnotation(f, report));
+        }
+        for(final int i : sequential) {
+            if ( analysis.failed ) {
+                break;
             }
-            for(final ConfigurationReport report : r.getConfigurationWarnings()) {
-                featureWarnings.computeIfAbsent(msgKey, key -> new ArrayList<>()).add(getConfigurationAnnotation(f, report));
+            reports[i] = this.runTask(analysers.get(i), original, feature);
+            completed.add(i);
+            this.checkFailure(reports[i], analysis);
+        }
+        for(final int i : completed) {
+            if ( cacheKeys[i] != null ) {
+                this.getTaskResultCache().put(cacheKeys[i], reports[i]);
             }
         }
+        return Arrays.asList(reports);
+    }
 
-        if (this.repoinitExecutionValidationEnabled) {
-            this.validateRepoinitExecution(features, featureErrors);
+    /**
+     * Check whether a task can run concurrently with other tasks on the same feature and scanner
+     * @param task The task
+     * @return {@code true} if the task only reads the configurations or bundles of the feature
+     */
+    // visible for testing
+    static boolean isConcurrentTask(final String task) {
+        return task != null && ( CONFIGURATION_TASKS.contains(task) || BUNDLE_TASKS.contains(task) );
+    }
+
+    /**
+     * Run a task and record its duration
+     */
+    private TaskResultCache.Reports runTask(final TaskAnalyser analyser, final Feature original, final Feature feature) throws Exception {
+        final long start = System.nanoTime();
+        final AnalyserResult result = analyser.analyser.analyse(feature, null, this.featureProvider);
+        if ( analyser.task != null ) {
+            this.taskCosts.put(analyser.task, System.nanoTime() - start);
         }
+        return this.getReports(original, result);
+    }
 
-        logOutput(result.getErrors(), featureErrors, "errors");
-        logOutput(result.getWarnings(), featureWarnings, "warnings");
+    /**
+     * Get the cost of a task, the duration of its last run or an estimate
+     * @param task The task
+     * @return The cost in nanoseconds
+     */
+    private long getTaskCost(final String task) {
+        final Long duration = this.taskCosts.get(task);
+        if ( duration != null ) {
+            return duration;
+        }
+        if ( CONFIGURATION_TASKS.contains(task) ) {
+            return ESTIMATED_CONFIGURATION_TASK_COST;
+        }
+        if ( BUNDLE_TASKS.contains(task) ) {
+            return ESTIMATED_BUNDLE_TASK_COST;
+        }
+        return ESTIMATED_TASK_COST;
+    }
 
-        return result;
+    /**
+     * In fail-fast mode, mark the analysis as failed if the reports contain a failure
+     */
+    private void checkFailure(final TaskResultCache.Reports reports, final Analysis analysis) {
+        if ( this.isFailFast() && ( !reports.getErrors().isEmpty()
+             || (this.isFailFastOnWarnings() && !reports.getWarnings().isEmpty()) ) ) {
+            analysis.failed = true;
+        }
     }
 
-    private void validateRepoinitExecution(final Collection<Feature> features,
-            final Map<String, List<AemAnalyserAnnotation>> featureErrors) {
-        final RepoInitValidator validator = new RepoInitValidator(this.getArtifactProvider());
-      
-        for (final Feature feature : features) {
-            final String classifier = feature.getId().getClassifier();
-            if (!this.checkFinalClassifier(classifier)) {
-                continue;
+    /**
+     * Get the key of the task reports in the task result cache
+     * @param task The task
+     * @param feature The feature
+     * @param fingerprints The fingerprints of the feature parts calculated so far
+     * @return The key or {@code null} if the reports of the task can't be cached
+     */
+    private String getTaskCacheKey(final String task, final Feature feature, final Map<String, String> fingerprints) {
+        if ( this.getTaskResultCache() == null || task == null ) {
+            return null;
+        }
+        String fingerprint = null;
+        if ( CONFIGURATION_TASKS.contains(task) ) {
+            fingerprint = fingerprints.computeIfAbsent("configurations", key -> TaskResultCache.getConfigurationsFingerprint(feature));
+        } else if ( BUNDLE_TASKS.contains(task) ) {
+            if ( !fingerprints.containsKey("bundles") ) {
+                try {
+                    fingerprints.put("bundles", this.getTaskResultCache().getBundlesFingerprint(feature, this.getArtifactProvider()));
+                } catch (final IOException e) {
+                    // the task runs without the cache
+                    this.logger.debug("Unable to calculate fingerprint of bundles of {} : {}", feature.getId(), e.getMessage());
+                    fingerprints.put("bundles", null);
+                }
             }
+            fingerprint = fingerprints.get("bundles");
+        }
+        return fingerprint == null ? null : TaskResultCache.getKey(task, this.getTaskConfigurations().get(task), feature, fingerprint);
+    }
+
+    private TaskResultCache.Reports getReports(final Feature f, final AnalyserResult r) {
+        final TaskResultCache.Reports reports = new TaskResultCache.Reports();
+        // report errors
+        for(final GlobalReport report : r.getGlobalErrors()) {
+            reports.getErrors().add(new AemAnalyserAnnotation(report.toString()));
+        }
+        for(final ArtifactReport report : r.getArtifactErrors()) {
+            reports.getErrors().add(getArtifactAnnotation(f, report));
+        }
+        for(final ExtensionReport report : r.getExtensionErrors()) {
+            reports.getErrors().add(getExtensionAnnotation(f, report));
+        }
+        for(final ConfigurationReport report : r.getConfigurationErrors()) {
+            reports.getErrors().add(getConfigurationAnnotation(f, report));
+        }
+
+        // report warnings
+        for(final GlobalReport report : r.getGlobalWarnings()) {
+            reports.getWarnings().add(new AemAnalyserAnnotation(report.toString()));
+        }
+        for(final ArtifactReport report : r.getArtifactWarnings()) {
+            reports.getWarnings().add(getArtifactAnnotation(f, report));
+        }
+        for(final ExtensionReport report : r.getExtensionWarnings()) {
+            reports.getWarnings().add(getExtensionAnnotation(f, report));
+        }
+        for(final ConfigurationReport report : r.getConfigurationWarnings()) {
+            reports.getWarnings().add(getConfigurationAnnotation(f, report));
+        }
+        return reports;
+    }
+
+    /**
+     * Replace the metadata of the product bundles of the feature with the product index
+     */
+    private Feature applyProductIndex(final Feature feature) {
+        final String key = ProductIndex.getKey(feature);
+        if ( key.isEmpty() ) {
+            return feature;
+        }
+        ProductIndex index = this.productIndexCache.get(key);
+        if ( index == null ) {
+            index = ProductIndex.build(feature);
+            this.productIndexCache.put(key, index);
+        }
+        return index.apply(feature);
+    }
+
+    private void validateRepoinitExecution(final Feature feature, final Analysis analysis) {
+        final String classifier = feature.getId().getClassifier();
+        if (!this.checkFinalClassifier(classifier)) {
+            return;
+        }
+        final String aggregateKey = this.getAggregateKeys().get(feature.getId().toMvnId());
+        String failure = null;
+        if ( aggregateKey != null && analysis.validationResults.containsKey(aggregateKey) ) {
+            failure = analysis.validationResults.get(aggregateKey);
+        } else {
             try {
                 this.logger.info("Validating repoinit execution for feature {}", feature.getId());
-                validator.validate(feature);
+                analysis.validator.validate(feature);
             } catch (final Exception e) {
                 this.logger.error("Repoinit execution validation failed for feature {}", feature.getId(), e);
                 this.logSuppressedExceptionMessages(e);
-                featureErrors.computeIfAbsent(classifier, key -> new ArrayList<>())
-                        .add(new AemAnalyserAnnotation("Repoinit execution validation failed: ".concat(e.getMessage())));
+                failure = "Repoinit execution validation failed: ".concat(e.getMessage());
+            }
+            if ( aggregateKey != null ) {
+                analysis.validationResults.put(aggregateKey, failure);
+            }
+        }
+        if ( failure != null ) {
+            analysis.featureErrors.computeIfAbsent(classifier, key -> new ArrayList<>())
+                    .add(new AemAnalyserAnnotation(failure));
+            if ( this.isFailFast() ) {
+                analysis.failed = true;
             }
         }
     }
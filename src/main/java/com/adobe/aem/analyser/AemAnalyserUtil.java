@@ -14,6 +14,7 @@ package com.adobe.aem.analyser;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
@@ -97,40 +98,39 @@ public class AemAnalyserUtil {
     public static Map<String, List<String>> getAggregates(Map<String, String> runmodeProps,
             EnumSet<ServiceType> serviceTypes, Map<String, String> additionalRunmodes) {
         HashMap<String, String> rmp = new HashMap<>(runmodeProps);
+        PackageNames packageNames = new PackageNames();
 
         // Obtain the results map filled for each entry with what is provided for the
         // '(default)' runmode.
-        Map<String, List<String>> result = primeResultWithDefault(rmp, serviceTypes);
+        Map<String, List<String>> result = primeResultWithDefault(rmp, serviceTypes, packageNames);
 
         // Look for all modes found in the runmodeProps input, properly sorted
         for (String mode : sortPropertyNames(rmp.keySet())) {
             List<String> models = result.get(mode);
             boolean valid = false;
             if (models != null) {
-                String[] sources = rmp.get(mode).split(",");
-                for (String pck : sources) {
-                    models.add(pck);
-                }
+                List<String> sources = packageNames.parse(rmp.get(mode));
+                models.addAll(sources);
                 // Forward fill this in env-specific models too
                 // e.g. author is also put in author.dev etc
                 for (EnvironmentType et : EnvironmentType.values()) {
                     String key = mode + "." + et.asString();
                     List<String> subModels = result.get(key);
                     if (subModels != null) {
-                        for (String pck : sources) {
-                            subModels.add(pck);
-                        }
+                        subModels.addAll(sources);
                     }
                 }
                 valid = true;
             } else {
+                List<String> sources = null;
                 for (ServiceType sp : ServiceType.values()) {
                     String key = sp.asString() + "." + mode;
                     models = result.get(key);
                     if (models != null) {
-                        for (String pck : rmp.get(mode).split(",")) {
-                            models.add(pck);
+                        if (sources == null) {
+                            sources = packageNames.parse(rmp.get(mode));
                         }
+                        models.addAll(sources);
                         valid = true;
                     }
                 }
@@ -141,25 +141,21 @@ public class AemAnalyserUtil {
             }
         }
 
-        handleAdditionalRunmodes(rmp, serviceTypes, additionalRunmodes, result);
+        handleAdditionalRunmodes(rmp, serviceTypes, additionalRunmodes, result, packageNames);
         reportUnhandledModes(rmp);
         pruneModels(result, additionalRunmodes.keySet());
 
         return result;
     }
 
-    private static Map<String, List<String>> primeResultWithDefault(Map<String, String> runmodeProps, EnumSet<ServiceType> serviceTypes) {
+    private static Map<String, List<String>> primeResultWithDefault(Map<String, String> runmodeProps, EnumSet<ServiceType> serviceTypes,
+            PackageNames packageNames) {
         Map<String, List<String>> result = new HashMap<>();
 
-        for (String mode : getUsedModes(serviceTypes)) {
-            result.put(mode, new ArrayList<>());
-        }
-
         String defaultFm = runmodeProps.remove(DEFAULT_MODE);
-        if (defaultFm != null ) {
-            for(final String pck : defaultFm.toString().split(",")) {
-                result.values().stream().forEach(s -> s.add(pck));
-            }
+        List<String> defaults = defaultFm != null ? packageNames.parse(defaultFm) : Collections.emptyList();
+        for (String mode : getUsedModes(serviceTypes)) {
+            result.put(mode, new ArrayList<>(defaults));
         }
 
         return result;
@@ -179,10 +175,11 @@ public class AemAnalyserUtil {
      * @param serviceTypes
      * @param additionalRunmodes
      * @param result
+     * @param packageNames
      */
     private static void handleAdditionalRunmodes(Map<String, String> runmodeProps,
             EnumSet<ServiceType> serviceTypes, Map<String, String> additionalRunmodes,
-            Map<String, List<String>> result) {
+            Map<String, List<String>> result, PackageNames packageNames) {
         for (Map.Entry<String, String> addEntry : additionalRunmodes.entrySet()) {
             String newMode = addEntry.getKey();
             String baseMode = addEntry.getValue();
@@ -200,10 +197,9 @@ public class AemAnalyserUtil {
             // Forward-fill the general new runmode to all service type variants
             String newModeValues = runmodeProps.remove(newMode);
             if (newModeValues != null) {
-                for (String pck : newModeValues.split(",")) {
-                    for (ServiceType st : serviceTypes) {
-                        result.get(st.asString() + "." + newMode).add(pck);
-                    }
+                List<String> sources = packageNames.parse(newModeValues);
+                for (ServiceType st : serviceTypes) {
+                    result.get(st.asString() + "." + newMode).addAll(sources);
                 }
             }
 
@@ -212,9 +208,7 @@ public class AemAnalyserUtil {
                 String rmp = st.asString() + "." + newMode;
                 String newModeSpecific = runmodeProps.remove(rmp);
                 if (newModeSpecific != null) {
-                    for (String pck : newModeSpecific.split(",")) {
-                        result.get(rmp).add(pck);
-                    }
+                    result.get(rmp).addAll(packageNames.parse(newModeSpecific));
                 }
             }
         }
@@ -238,39 +232,39 @@ public class AemAnalyserUtil {
     /**
      * Sort the property names from least specific to most specific.
      * The specificness is indentified by the nubmer of dots. E.g.
-     * author is less specific than author.dev. Also environments need
-     * to come before service types. So stage comed before author.
+     * author is less specific than author.dev. If the number of dots
+     * is equal, the names are sorted alphabetically with 'author' and
+     * 'publish' compared in uppercase, which puts the service types
+     * before the environments.
      * @param stringPropertyNames the property names
      * @return the same names but now sorted
      */
     private static List<String> sortPropertyNames(Set<String> stringPropertyNames) {
-        List<String> names = new ArrayList<>(stringPropertyNames);
-
-        // Turn 'author' and 'publish' into uppercase so that they are sorted after
-        // dev, stage and prod.
-        for (int i=0; i<names.size(); i++) {
-            String n = names.get(i);
-            String n2 = n.replace("author", "AUTHOR");
-            String n3 = n2.replace("publish", "PUBLISH");
-            names.set(i, n3);
+        // Calculate the sort key of each name once instead of on every comparison
+        Map<String, String> sortKeys = new HashMap<>();
+        for (String name : stringPropertyNames) {
+            sortKeys.put(name, getSortKey(name));
         }
-
-        // Sort such that names with less dots (which are separators) come before more dots
-        // If the number of dots are equals, sort alphabetically, which, given the capitalization
-        // of the runmodes will put the environments before the runmodes.
-        Collections.sort(names, (s1, s2) -> {
-            int res = Long.compare(countChars(s1), countChars(s2));
-
-            // If the number of dots is the same we sort alphabetically
-            return res != 0 ? res : s1.compareTo(s2);
-        });
-
-        // Before we return we convert everything back into lowercase as it was.
-        return names.stream().map(String::toLowerCase).collect(Collectors.toList());
+        List<String> names = new ArrayList<>(stringPropertyNames);
+        names.sort(Comparator.comparing(sortKeys::get));
+        return names;
     }
 
-    private static long countChars(String s) {
-        return s.chars().filter(c -> c == '.').count();
+    /**
+     * Get the key for sorting a runmode. The key starts with the number of dots
+     * as a character, followed by the name with 'author' and 'publish' in uppercase.
+     * @param name The runmode
+     * @return The sort key
+     */
+    private static String getSortKey(String name) {
+        String key = name.replace("author", "AUTHOR").replace("publish", "PUBLISH");
+        char dots = 0;
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) == '.') {
+                dots++;
+            }
+        }
+        return dots + key;
     }
 
     static void pruneModels(final Map<String, List<String>> allModels, Set<String> additionalRunmodes) {
@@ -281,12 +275,47 @@ public class AemAnalyserUtil {
 
         // Remove specialised models that don't add anything
         for (ServiceType ap : ServiceType.values()) {
+            List<String> base = allModels.get(ap.asString());
+            int baseHash = Objects.hashCode(base);
             for (String env : allEnvs) {
                 String mode = ap.asString().concat(".").concat(env);
-                if (Objects.equals(allModels.get(ap.asString()), allModels.get(mode))) {
+                if (isSameModel(base, baseHash, allModels.get(mode))) {
                     allModels.remove(mode);
                 }
             }
         }
     }
+
+    /**
+     * Check if a model is the same as the base model. Models of different size or
+     * with a different hash are rejected without comparing the package names.
+     */
+    private static boolean isSameModel(List<String> base, int baseHash, List<String> model) {
+        if (base == model) {
+            return true;
+        }
+        if (base == null || model == null || base.size() != model.size()) {
+            return false;
+        }
+        return model.hashCode() == baseHash && model.equals(base);
+    }
+
+    /**
+     * Splits the comma separated package names of the runmode mappings. Equal names
+     * share the same instance, which makes comparing the aggregates cheap.
+     */
+    private static final class PackageNames {
+
+        private final Map<String, String> names = new HashMap<>();
+
+        List<String> parse(String value) {
+            String[] parts = value.split(",");
+            List<String> result = new ArrayList<>(parts.length);
+            for (String part : parts) {
+                String name = names.putIfAbsent(part, part);
+                result.add(name != null ? name : part);
+            }
+            return result;
+        }
+    }
 }
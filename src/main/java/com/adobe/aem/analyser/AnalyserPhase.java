@@ -0,0 +1,40 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser;
+
+/**
+ * The phases of an analyser run
+ */
+public enum AnalyserPhase {
+
+    CONVERSION("Content package conversion"),
+    USER_AGGREGATION("User aggregation"),
+    PRODUCT_AGGREGATION("Product aggregation"),
+    FINAL_AGGREGATION("Final aggregation"),
+    ARTIFACT_PREFETCH("Artifact prefetch"),
+    ANALYSIS("Analysis"),
+    REPOINIT_VALIDATION("Repoinit validation");
+
+    private final String label;
+
+    AnalyserPhase(final String label) {
+        this.label = label;
+    }
+
+    /**
+     * Human readable name of the phase
+     * @return The label
+     */
+    public String getLabel() {
+        return this.label;
+    }
+}
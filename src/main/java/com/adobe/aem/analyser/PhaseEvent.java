@@ -0,0 +1,35 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for an analyser phase. The event is only recorded if a flight
+ * recording is active, e.g. by running Maven with {@code -XX:StartFlightRecording}.
+ */
+@Name("com.adobe.aem.analyser.Phase")
+@Label("AEM Analyser Phase")
+@Category("AEM Analyser")
+@Description("Execution of a phase of the AEM analyser")
+class PhaseEvent extends jdk.jfr.Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Detail")
+    @Description("The aggregate or feature processed, empty for the whole phase")
+    String detail;
+}
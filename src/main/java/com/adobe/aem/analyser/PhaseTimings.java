@@ -0,0 +1,102 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Collects the time spent in the different {@link AnalyserPhase}s. In addition, a
+ * {@link PhaseEvent} is emitted for each timed section.
+ * This class is thread-safe.
+ */
+public class PhaseTimings {
+
+    private final Map<AnalyserPhase, Long> durations = new EnumMap<>(AnalyserPhase.class);
+
+    /**
+     * Start timing a phase. The returned timer must be closed at the end of the phase.
+     * @param phase The phase
+     * @return The timer
+     */
+    public Timer start(final AnalyserPhase phase) {
+        return new Timer(phase, null);
+    }
+
+    /**
+     * Start timing a section within a phase, like building a single aggregate.
+     * The duration is only reported as an event and not added to the phase
+     * as the phase itself is timed separately.
+     * @param phase The phase
+     * @param detail The section
+     * @return The timer
+     */
+    public Timer start(final AnalyserPhase phase, final String detail) {
+        return new Timer(phase, detail);
+    }
+
+    /**
+     * Get the accumulated duration for a phase
+     * @param phase The phase
+     * @return The duration in nanoseconds
+     */
+    public synchronized long getDuration(final AnalyserPhase phase) {
+        return this.durations.getOrDefault(phase, 0L);
+    }
+
+    /**
+     * Get the accumulated durations of all phases which have been timed
+     * @return A map of durations in nanoseconds in phase order
+     */
+    public synchronized Map<AnalyserPhase, Long> getDurations() {
+        return new EnumMap<>(this.durations);
+    }
+
+    private synchronized void add(final AnalyserPhase phase, final long nanos) {
+        this.durations.merge(phase, nanos, Long::sum);
+    }
+
+    /**
+     * Timer for a single phase or section
+     */
+    public class Timer implements AutoCloseable {
+
+        private final AnalyserPhase phase;
+
+        private final String detail;
+
+        private final PhaseEvent event = new PhaseEvent();
+
+        private final long startTime;
+
+        Timer(final AnalyserPhase phase, final String detail) {
+            this.phase = phase;
+            this.detail = detail;
+            this.event.begin();
+            this.startTime = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            final long duration = System.nanoTime() - this.startTime;
+            this.event.end();
+            if ( this.event.shouldCommit() ) {
+                this.event.phase = this.phase.name();
+                this.event.detail = this.detail;
+                this.event.commit();
+            }
+            if ( this.detail == null ) {
+                add(this.phase, duration);
+            }
+        }
+    }
+}
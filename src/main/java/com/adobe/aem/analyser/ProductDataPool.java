@@ -0,0 +1,129 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser;
+
+import java.util.Dictionary;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.sling.feature.Artifact;
+import org.apache.sling.feature.ArtifactId;
+import org.apache.sling.feature.Configuration;
+import org.apache.sling.feature.Extension;
+import org.apache.sling.feature.ExtensionType;
+import org.apache.sling.feature.Feature;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonValue;
+
+/**
+ * Pool for the product data of the final aggregates. The feature builder creates a deep
+ * copy of every product bundle, configuration and metadata entry for each final aggregate.
+ * The pool replaces equal copies with a single shared instance, so the final aggregates
+ * only own their user parts.
+ * <p>
+ * Bundles and configurations are only shared if they are not part of a content package.
+ * Shared entries must not be modified, a feature is copied before it is changed.
+ */
+class ProductDataPool {
+
+    private static final String CONTENT_PACKAGE_ORIGINS = "content-package-origins";
+
+    private static final String CONFIGURATION_ORIGINS = Configuration.CONFIGURATOR_PREFIX.concat(CONTENT_PACKAGE_ORIGINS);
+
+    private static final String ANALYSER_METADATA_EXTENSION = "analyser-metadata";
+
+    private final Map<ArtifactId, Artifact> bundles = new HashMap<>();
+
+    private final Map<String, Configuration> configurations = new HashMap<>();
+
+    private final Map<String, JsonValue> metadata = new HashMap<>();
+
+    private final Map<String, String> keys = new HashMap<>();
+
+    /**
+     * Replace the product data of the feature with the shared instances. Entries which
+     * are not in the pool yet are added.
+     * @param feature The feature
+     * @return The number of entries replaced with a shared instance
+     */
+    int share(final Feature feature) {
+        int shared = 0;
+        for(int i = 0; i < feature.getBundles().size(); i++) {
+            final Artifact bundle = feature.getBundles().get(i);
+            if ( bundle.getMetadata().get(CONTENT_PACKAGE_ORIGINS) != null ) {
+                continue;
+            }
+            final Artifact pooled = this.bundles.putIfAbsent(bundle.getId(), bundle);
+            if ( pooled != null && pooled != bundle && pooled.getMetadata().equals(bundle.getMetadata()) ) {
+                feature.getBundles().set(i, pooled);
+                shared++;
+            }
+        }
+        for(int i = 0; i < feature.getConfigurations().size(); i++) {
+            final Configuration cfg = feature.getConfigurations().get(i);
+            if ( cfg.getProperties().get(CONFIGURATION_ORIGINS) != null ) {
+                continue;
+            }
+            final Configuration pooled = this.configurations.putIfAbsent(cfg.getPid(), cfg);
+            if ( pooled != null && pooled != cfg && isSameProperties(pooled.getProperties(), cfg.getProperties()) ) {
+                feature.getConfigurations().set(i, pooled);
+                shared++;
+            }
+        }
+        final Extension ext = feature.getExtensions().getByName(ANALYSER_METADATA_EXTENSION);
+        if ( ext != null && ext.getType() == ExtensionType.JSON ) {
+            // json values are immutable and can be shared without restrictions
+            final JsonObject obj = ext.getJSONStructure().asJsonObject();
+            final JsonObjectBuilder builder = Json.createObjectBuilder();
+            for(final Map.Entry<String, JsonValue> entry : obj.entrySet()) {
+                final String key = this.keys.computeIfAbsent(entry.getKey(), k -> k);
+                final JsonValue pooled = this.metadata.putIfAbsent(key, entry.getValue());
+                if ( pooled != null && pooled != entry.getValue() && pooled.equals(entry.getValue()) ) {
+                    builder.add(key, pooled);
+                    shared++;
+                } else {
+                    builder.add(key, entry.getValue());
+                }
+            }
+            ext.setJSONStructure(builder.build());
+        }
+        return shared;
+    }
+
+    /**
+     * Remove all entries from the pool. Features keep the instances shared so far.
+     */
+    void clear() {
+        this.bundles.clear();
+        this.configurations.clear();
+        this.metadata.clear();
+        this.keys.clear();
+    }
+
+    private static boolean isSameProperties(final Dictionary<String, Object> a, final Dictionary<String, Object> b) {
+        if ( a.size() != b.size() ) {
+            return false;
+        }
+        for(final Enumeration<String> e = a.keys(); e.hasMoreElements();) {
+            final String name = e.nextElement();
+            if ( !Objects.deepEquals(a.get(name), b.get(name)) ) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
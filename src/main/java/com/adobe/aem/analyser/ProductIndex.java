@@ -0,0 +1,146 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.sling.feature.Artifact;
+import org.apache.sling.feature.ArtifactId;
+import org.apache.sling.feature.Extension;
+import org.apache.sling.feature.ExtensionType;
+import org.apache.sling.feature.Feature;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonValue;
+
+/**
+ * Index of the product bundles of a final aggregate. The product bundles are described
+ * by the manifests in the analyser metadata of the product features. The index keeps
+ * the identity, the exports, the capabilities and the fragment host of each product
+ * bundle, but drops the requirements of the product bundles: their imports, required
+ * capabilities and required bundles. User bundles are analysed against the same product
+ * bundles as in a full analysis, and findings about a product bundle, for example which
+ * bundle exports a package, name the same bundle. The requirements of the product
+ * bundles are no longer resolved and checked in every build. Therefore, unlike a full
+ * analysis, problems within the product itself like an unresolved import of a product
+ * bundle are not reported.
+ */
+public final class ProductIndex {
+
+    private static final String ANALYSER_METADATA_EXTENSION = "analyser-metadata";
+
+    private static final String MANIFEST_KEY = "manifest";
+
+    private static final String CONTENT_PACKAGE_ORIGINS = "content-package-origins";
+
+    /** The manifest headers of the product bundles which are not part of the index */
+    private static final List<String> REQUIREMENT_HEADERS = Arrays.asList("Import-Package", "DynamicImport-Package",
+        "Require-Capability", "Require-Bundle");
+
+    /** The analyser metadata of the product bundles without their requirements, by mvn id */
+    private final Map<String, JsonObject> metadata;
+
+    private ProductIndex(final Map<String, JsonObject> metadata) {
+        this.metadata = metadata;
+    }
+
+    /**
+     * Get the key of the product bundles of a feature. Features with the same key get the same index.
+     * @param feature The feature
+     * @return The key
+     */
+    static String getKey(final Feature feature) {
+        final JsonObject metadata = getMetadata(feature);
+        final StringBuilder sb = new StringBuilder();
+        for(final Artifact bundle : feature.getBundles()) {
+            if ( isProductBundle(bundle, metadata) ) {
+                sb.append(bundle.getId().toMvnId()).append('@').append(bundle.getStartOrder());
+                for(final ArtifactId origin : bundle.getFeatureOrigins()) {
+                    sb.append('|').append(origin.toMvnId());
+                }
+                sb.append(',');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Build the index for the product bundles of a feature
+     * @param feature The feature
+     * @return The index
+     */
+    static ProductIndex build(final Feature feature) {
+        final JsonObject metadata = getMetadata(feature);
+        final Map<String, JsonObject> indexMetadata = new LinkedHashMap<>();
+        for(final Artifact bundle : feature.getBundles()) {
+            if ( !isProductBundle(bundle, metadata) ) {
+                continue;
+            }
+            final JsonObject entry = metadata.getJsonObject(bundle.getId().toMvnId());
+            final JsonObjectBuilder manifest = Json.createObjectBuilder();
+            for(final Map.Entry<String, JsonValue> header : entry.getJsonObject(MANIFEST_KEY).entrySet()) {
+                if ( !REQUIREMENT_HEADERS.contains(header.getKey()) ) {
+                    manifest.add(header.getKey(), header.getValue());
+                }
+            }
+            indexMetadata.put(bundle.getId().toMvnId(), Json.createObjectBuilder(entry).add(MANIFEST_KEY, manifest).build());
+        }
+        return new ProductIndex(indexMetadata);
+    }
+
+    /**
+     * Create a copy of the feature in which the metadata of the product bundles is replaced with the index
+     * @param feature The feature
+     * @return The copy
+     */
+    Feature apply(final Feature feature) {
+        final Feature result = feature.copy();
+        final Extension ext = result.getExtensions().getByName(ANALYSER_METADATA_EXTENSION);
+        if ( ext != null && ext.getType() == ExtensionType.JSON ) {
+            final JsonObject metadata = ext.getJSONStructure().asJsonObject();
+            final JsonObjectBuilder builder = Json.createObjectBuilder();
+            for(final Map.Entry<String, JsonValue> entry : metadata.entrySet()) {
+                final JsonObject indexed = this.metadata.get(entry.getKey());
+                builder.add(entry.getKey(), indexed != null ? indexed : entry.getValue());
+            }
+            ext.setJSONStructure(builder.build());
+        }
+        return result;
+    }
+
+    /**
+     * A product bundle has a manifest in the analyser metadata and is not part of a content package
+     */
+    private static boolean isProductBundle(final Artifact bundle, final JsonObject metadata) {
+        if ( metadata == null || bundle.getMetadata().get(CONTENT_PACKAGE_ORIGINS) != null ) {
+            return false;
+        }
+        final JsonValue value = metadata.get(bundle.getId().toMvnId());
+        return value != null && value.getValueType() == JsonValue.ValueType.OBJECT
+            && value.asJsonObject().get(MANIFEST_KEY) != null
+            && value.asJsonObject().get(MANIFEST_KEY).getValueType() == JsonValue.ValueType.OBJECT;
+    }
+
+    private static JsonObject getMetadata(final Feature feature) {
+        final Extension ext = feature.getExtensions().getByName(ANALYSER_METADATA_EXTENSION);
+        if ( ext == null || ext.getType() != ExtensionType.JSON ) {
+            return null;
+        }
+        final JsonValue value = ext.getJSONStructure();
+        return value != null && value.getValueType() == JsonValue.ValueType.OBJECT ? value.asJsonObject() : null;
+    }
+}
@@ -0,0 +1,365 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.sling.feature.Artifact;
+import org.apache.sling.feature.Configuration;
+import org.apache.sling.feature.Feature;
+import org.apache.sling.feature.builder.ArtifactProvider;
+
+import com.adobe.aem.analyser.result.AemAnalyserAnnotation;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonException;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import jakarta.json.JsonWriter;
+
+/**
+ * Cache for the reports of single analyser tasks. The reports are stored under a key
+ * calculated from the task, its configuration and the parts of the feature the task
+ * reads. Only the entries used or added by the current build are written back, so
+ * the file does not grow over time.
+ * The cache also records the checksums of bundle files by path, size and modification
+ * time, so unchanged bundles are not read again in later builds.
+ */
+public class TaskResultCache {
+
+    /** Version of the file format, incremented on incompatible changes */
+    private static final String FORMAT_VERSION = "1";
+
+    private static final String KEY_FORMAT = "format";
+
+    private static final String KEY_VERSION = "version";
+
+    private static final String KEY_ENTRIES = "entries";
+
+    private static final String KEY_ERRORS = "errors";
+
+    private static final String KEY_WARNINGS = "warnings";
+
+    private static final String KEY_CHECKSUMS = "checksums";
+
+    /**
+     * The reports of a task
+     */
+    public static final class Reports {
+
+        private final List<AemAnalyserAnnotation> errors = new ArrayList<>();
+
+        private final List<AemAnalyserAnnotation> warnings = new ArrayList<>();
+
+        /**
+         * @return the errors
+         */
+        public List<AemAnalyserAnnotation> getErrors() {
+            return errors;
+        }
+
+        /**
+         * @return the warnings
+         */
+        public List<AemAnalyserAnnotation> getWarnings() {
+            return warnings;
+        }
+    }
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final File file;
+
+    private final String version;
+
+    private Map<String, Reports> previous;
+
+    private final Map<String, Reports> current = new ConcurrentHashMap<>();
+
+    private Map<String, String> previousChecksums;
+
+    private final Map<String, String> currentChecksums = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new cache
+     * @param file The cache file
+     * @param version The version of the analyser, entries recorded by a different version are ignored
+     */
+    public TaskResultCache(final File file, final String version) {
+        this.file = file;
+        this.version = version;
+    }
+
+    /**
+     * Get the cached reports
+     * @param key The key
+     * @return The reports or {@code null}
+     */
+    synchronized Reports get(final String key) {
+        this.readPrevious();
+        Reports reports = this.current.get(key);
+        if ( reports == null ) {
+            reports = this.previous.get(key);
+            if ( reports != null ) {
+                this.current.put(key, reports);
+            }
+        }
+        return reports;
+    }
+
+    /**
+     * Add reports to the cache
+     * @param key The key
+     * @param reports The reports
+     */
+    void put(final String key, final Reports reports) {
+        this.current.put(key, reports);
+    }
+
+    /**
+     * Write the entries used or added since the cache has been created
+     * @throws IOException If writing fails
+     */
+    public void write() throws IOException {
+        final JsonObjectBuilder entries = Json.createObjectBuilder();
+        for(final Map.Entry<String, Reports> entry : this.current.entrySet()) {
+            entries.add(entry.getKey(), Json.createObjectBuilder()
+                .add(KEY_ERRORS, writeAnnotations(entry.getValue().getErrors()))
+                .add(KEY_WARNINGS, writeAnnotations(entry.getValue().getWarnings())));
+        }
+        final JsonObjectBuilder checksums = Json.createObjectBuilder();
+        for(final Map.Entry<String, String> entry : this.currentChecksums.entrySet()) {
+            checksums.add(entry.getKey(), entry.getValue());
+        }
+        final JsonObject obj = Json.createObjectBuilder()
+            .add(KEY_FORMAT, FORMAT_VERSION)
+            .add(KEY_VERSION, String.valueOf(this.version))
+            .add(KEY_ENTRIES, entries)
+            .add(KEY_CHECKSUMS, checksums)
+            .build();
+        this.file.getAbsoluteFile().getParentFile().mkdirs();
+        try (final Writer writer = Files.newBufferedWriter(this.file.toPath(), StandardCharsets.UTF_8);
+             final JsonWriter jsonWriter = Json.createWriter(writer)) {
+            jsonWriter.writeObject(obj);
+        }
+    }
+
+    private void readPrevious() {
+        if ( this.previous == null ) {
+            this.previous = new ConcurrentHashMap<>();
+            this.previousChecksums = new ConcurrentHashMap<>();
+            this.read(this.previous, this.previousChecksums);
+        }
+    }
+
+    private void read(final Map<String, Reports> result, final Map<String, String> checksums) {
+        if ( this.file.isFile() ) {
+            try (final Reader reader = Files.newBufferedReader(this.file.toPath(), StandardCharsets.UTF_8);
+                 final JsonReader jsonReader = Json.createReader(reader)) {
+                final JsonObject obj = jsonReader.readObject();
+                if ( FORMAT_VERSION.equals(obj.getString(KEY_FORMAT, null))
+                     && String.valueOf(this.version).equals(obj.getString(KEY_VERSION, null))
+                     && obj.getJsonObject(KEY_ENTRIES) != null ) {
+                    for(final Map.Entry<String, JsonValue> entry : obj.getJsonObject(KEY_ENTRIES).entrySet()) {
+                        final JsonObject value = entry.getValue().asJsonObject();
+                        final Reports reports = new Reports();
+                        readAnnotations(value.getJsonArray(KEY_ERRORS), reports.getErrors());
+                        readAnnotations(value.getJsonArray(KEY_WARNINGS), reports.getWarnings());
+                        result.put(entry.getKey(), reports);
+                    }
+                    if ( obj.getJsonObject(KEY_CHECKSUMS) != null ) {
+                        for(final Map.Entry<String, JsonValue> entry : obj.getJsonObject(KEY_CHECKSUMS).entrySet()) {
+                            checksums.put(entry.getKey(), ((JsonString) entry.getValue()).getString());
+                        }
+                    }
+                }
+            } catch (final IOException | JsonException | ClassCastException e) {
+                // a corrupt cache is treated like an empty one
+                result.clear();
+                checksums.clear();
+            }
+        }
+    }
+
+    private static void readAnnotations(final JsonArray array, final List<AemAnalyserAnnotation> annotations) {
+        if ( array != null ) {
+            for(final JsonValue v : array) {
+                annotations.add(new AemAnalyserAnnotation(((JsonString) v).getString()));
+            }
+        }
+    }
+
+    private static JsonArrayBuilder writeAnnotations(final List<AemAnalyserAnnotation> annotations) {
+        final JsonArrayBuilder builder = Json.createArrayBuilder();
+        for(final AemAnalyserAnnotation ann : annotations) {
+            builder.add(ann.getMessage());
+        }
+        return builder;
+    }
+
+    /**
+     * Calculate the key for the reports of a task
+     * @param task The task id
+     * @param configuration The task configuration or {@code null}
+     * @param feature The feature
+     * @param fingerprint The fingerprint of the parts of the feature the task reads
+     * @return The key
+     */
+    static String getKey(final String task, final Map<String, String> configuration,
+            final Feature feature, final String fingerprint) {
+        final MessageDigest digest = createDigest();
+        update(digest, task);
+        update(digest, String.valueOf(new TreeMap<>(configuration != null ? configuration : Collections.emptyMap())));
+        update(digest, feature.getId().toMvnId());
+        update(digest, fingerprint);
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Calculate the fingerprint of the configurations of a feature
+     * @param feature The feature
+     * @return The fingerprint
+     */
+    static String getConfigurationsFingerprint(final Feature feature) {
+        final MessageDigest digest = createDigest();
+        for(final Configuration cfg : feature.getConfigurations()) {
+            update(digest, cfg.getPid());
+            final Map<String, String> props = new TreeMap<>();
+            for(final Enumeration<String> e = cfg.getProperties().keys(); e.hasMoreElements();) {
+                final String name = e.nextElement();
+                props.put(name, Arrays.deepToString(new Object[] {cfg.getProperties().get(name)}));
+            }
+            update(digest, props.toString());
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Calculate the fingerprint of the bundles of a feature, including their content.
+     * The checksum of a bundle file is only calculated if the file is new or its size
+     * or modification time changed.
+     * @param feature The feature
+     * @param provider The artifact provider
+     * @return The fingerprint or {@code null} if a bundle can't be found
+     * @throws IOException If reading a bundle fails
+     */
+    String getBundlesFingerprint(final Feature feature, final ArtifactProvider provider) throws IOException {
+        final MessageDigest digest = createDigest();
+        for(final Artifact bundle : feature.getBundles()) {
+            update(digest, bundle.getId().toMvnId());
+            update(digest, String.valueOf(new TreeMap<>(bundle.getMetadata())));
+            final URL url = provider != null ? provider.provide(bundle.getId()) : null;
+            if ( url == null ) {
+                return null;
+            }
+            update(digest, this.getChecksum(url));
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Get the checksum of the content of a url. The checksum of a file is looked up
+     * by its path, size and modification time first.
+     * @param url The url
+     * @return The checksum
+     * @throws IOException If reading fails
+     */
+    private String getChecksum(final URL url) throws IOException {
+        final File bundleFile = toFile(url);
+        if ( bundleFile == null ) {
+            return calculateChecksum(url);
+        }
+        final String key = bundleFile.getAbsolutePath() + "|" + bundleFile.lastModified() + "|" + bundleFile.length();
+        String checksum = this.currentChecksums.get(key);
+        if ( checksum == null ) {
+            synchronized ( this ) {
+                this.readPrevious();
+                checksum = this.previousChecksums.get(key);
+            }
+            if ( checksum == null ) {
+                checksum = calculateChecksum(url);
+            }
+            this.currentChecksums.put(key, checksum);
+        }
+        return checksum;
+    }
+
+    private static File toFile(final URL url) {
+        if ( "file".equals(url.getProtocol()) ) {
+            try {
+                final File f = new File(url.toURI());
+                return f.isFile() ? f : null;
+            } catch (final URISyntaxException | IllegalArgumentException e) {
+                // not a local file, the content is read
+            }
+        }
+        return null;
+    }
+
+    private static String calculateChecksum(final URL url) throws IOException {
+        final MessageDigest digest = createDigest();
+        final byte[] buffer = new byte[65536];
+        try (final InputStream is = url.openStream()) {
+            int read;
+            while ( (read = is.read(buffer)) != -1 ) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            // SHA-256 is required to be supported by every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(final MessageDigest digest, final String value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final char[] chars = new char[bytes.length * 2];
+        for(int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0x0F];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0x0F];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,379 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser.cli;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.sling.feature.ArtifactId;
+import org.apache.sling.feature.Feature;
+import org.apache.sling.feature.cpconverter.ConverterException;
+
+import com.adobe.aem.analyser.AemAggregator;
+import com.adobe.aem.analyser.AemAnalyser;
+import com.adobe.aem.analyser.AemPackageConverter;
+import com.adobe.aem.analyser.AnalyserPhase;
+import com.adobe.aem.analyser.Constants;
+import com.adobe.aem.analyser.PhaseTimings;
+import com.adobe.aem.analyser.impl.ProviderTypeAnalyserTask;
+import com.adobe.aem.analyser.result.AemAnalyserAnnotation;
+import com.adobe.aem.analyser.result.AemAnalyserResult;
+
+/**
+ * Command line entry point for the analyser. It converts the given content packages,
+ * aggregates them with the SDK and add-on features and analyses the aggregates, the
+ * same phases as the analyse goal of the plugin, but without Maven.
+ * <p>
+ * The SDK and the add-ons are read from local directories only, the analysis never
+ * accesses the network.
+ * @since 1.7.3
+ */
+public final class AnalyserCli {
+
+    /** Exit code if the analysis passed */
+    public static final int EXIT_OK = 0;
+
+    /** Exit code if the analysis reported errors, or warnings in strict mode */
+    public static final int EXIT_FAILED = 1;
+
+    /** Exit code for invalid arguments or if the analysis could not be run */
+    public static final int EXIT_USAGE = 2;
+
+    /** The id used for the aggregates of the project */
+    private static final ArtifactId PROJECT_ID = new ArtifactId("local", "aem-analyser-cli", "1", null, null);
+
+    private static final String CONVERTER_DIRECTORY = "cp-conversion";
+
+    private static final String FM_DIRECTORY = "fm.out";
+
+    private static final String API_INFO_CACHE_DIRECTORY = "api-info";
+
+    private static final String USAGE = "Usage: aem-analyser [options] <content-package.zip>...\n"
+        + "Options:\n"
+        + "  -r, --repository <dir>   Directory with the SDK and add-on features and jars in Maven repository\n"
+        + "                           layout. Can be repeated, defaults to ~/.m2/repository if no -d is given\n"
+        + "  -d, --dir <dir>          Directory directly containing the SDK and add-on features and jars, named\n"
+        + "                           like in a Maven repository. Can be repeated\n"
+        + "  -s, --sdk <version|id>   SDK version or mvn id, defaults to the latest SDK in the repositories\n"
+        + "  -a, --addon <id>         Add-on mvn id, can be repeated. Defaults to the default add-ons\n"
+        + "                           found in the repositories\n"
+        + "  -o, --output <dir>       Output directory, defaults to target/aem-analyser\n"
+        + "      --tasks <list>       Comma separated list of the analyser tasks for the final aggregates\n"
+        + "      --user-tasks <list>  Comma separated list of the analyser tasks for the user aggregates\n"
+        + "      --threads <n>        Number of threads running the analyser tasks\n"
+        + "      --fail-fast          Stop at the first failing analyser task\n"
+        + "      --strict             Fail on warnings\n"
+        + "  -h, --help               Print this help";
+
+    public static void main(final String[] args) {
+        System.exit(new AnalyserCli().run(args, System.out, System.err));
+    }
+
+    /**
+     * Run the analyser
+     * @param args The command line arguments
+     * @param out The stream for the result
+     * @param err The stream for usage and fatal errors
+     * @return The exit code
+     */
+    public int run(final String[] args, final PrintStream out, final PrintStream err) {
+        final Options options;
+        try {
+            options = Options.parse(args);
+        } catch (final IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return EXIT_USAGE;
+        }
+        if ( options.help ) {
+            out.println(USAGE);
+            return EXIT_OK;
+        }
+        try {
+            final AemAnalyserResult result = this.analyse(options, out);
+            for(final AemAnalyserAnnotation ann : result.getWarnings()) {
+                out.println((options.strict ? "[ERROR] " : "[WARNING] ").concat(ann.toString()));
+            }
+            for(final AemAnalyserAnnotation ann : result.getErrors()) {
+                out.println("[ERROR] ".concat(ann.toString()));
+            }
+            return result.hasErrors() || (options.strict && result.hasWarnings()) ? EXIT_FAILED : EXIT_OK;
+        } catch (final Exception e) {
+            err.println("Analysis failed : " + e.getMessage());
+            return EXIT_USAGE;
+        }
+    }
+
+    /**
+     * Convert, aggregate and analyse the content packages
+     */
+    private AemAnalyserResult analyse(final Options options, final PrintStream out) throws Exception {
+        final File converterDir = new File(options.output, CONVERTER_DIRECTORY);
+        final File featuresDir = new File(converterDir, FM_DIRECTORY);
+        // the aggregator reads all features of the directory, drop the ones of an earlier run
+        delete(converterDir);
+
+        final List<File> directories = new ArrayList<>();
+        directories.add(converterDir);
+        directories.addAll(options.repositories);
+        final LocalRepository repository = new LocalRepository(directories, options.flatDirectories);
+
+        final ArtifactId sdkId = getSdkId(options.sdk, repository);
+        final List<ArtifactId> addons = getAddons(options.addons, repository);
+        out.println("Using SDK for analysis: " + sdkId.toMvnId());
+        for(final ArtifactId addon : addons) {
+            out.println("Using Add-On for analysis: " + addon.toMvnId());
+        }
+
+        final File sdkFile = repository.getFile(sdkId);
+        if ( sdkFile == null ) {
+            throw new IOException("SDK API jar " + sdkId.toMvnId() + " not found in " + repository.getDirectories());
+        }
+        if ( !ProviderTypeAnalyserTask.initializeProviderTypeInfo(sdkId, sdkFile, new File(options.output, API_INFO_CACHE_DIRECTORY)) ) {
+            throw new IOException("Provider types not found in " + sdkId.toMvnId() + ". Please update to a more recent version of the API.");
+        }
+
+        final PhaseTimings timings = new PhaseTimings();
+
+        // 1. Phase : convert content packages
+        final AemPackageConverter converter = new AemPackageConverter();
+        converter.setConverterOutputDirectory(converterDir);
+        converter.setFeatureOutputDirectory(featuresDir);
+        try ( final PhaseTimings.Timer t = timings.start(AnalyserPhase.CONVERSION) ) {
+            converter.convert(options.contentPackages);
+        } catch (final ConverterException ce) {
+            throw new IOException(ce.getMessage(), ce);
+        }
+
+        // 2. Phase : aggregate feature models
+        final AemAggregator aggregator = new AemAggregator();
+        aggregator.setPhaseTimings(timings);
+        aggregator.setFeatureOutputDirectory(featuresDir);
+        aggregator.setArtifactProvider(repository);
+        aggregator.setFeatureProvider(repository::readFeature);
+        aggregator.setProjectId(PROJECT_ID);
+        aggregator.setSdkId(sdkId);
+        aggregator.setAddOnIds(addons);
+        aggregator.setEnableDuplicateBundleHandling(true);
+        final List<Feature> features = aggregator.aggregate();
+
+        // 3. Phase : analyse features
+        final AemAnalyser analyser = new AemAnalyser();
+        analyser.setPhaseTimings(timings);
+        analyser.setArtifactProvider(repository);
+        if ( options.tasks != null ) {
+            analyser.setIncludedTasks(options.tasks);
+        }
+        if ( options.userTasks != null ) {
+            analyser.setIncludedUserTasks(options.userTasks);
+        }
+        final Map<String, Map<String, String>> taskConfigurations = new HashMap<>();
+        taskConfigurations.computeIfAbsent(ProviderTypeAnalyserTask.ID, key -> new HashMap<>())
+            .put(ProviderTypeAnalyserTask.CFG_SDK, sdkId.toMvnId());
+        analyser.setTaskConfigurations(taskConfigurations);
+        analyser.setAggregateKeys(aggregator.getAggregateKeys());
+        if ( options.threads > 0 ) {
+            analyser.setTaskThreads(options.threads);
+        }
+        analyser.setFailFast(options.failFast);
+        analyser.setFailFastOnWarnings(options.strict);
+        return analyser.analyse(features);
+    }
+
+    /**
+     * Get the SDK id, either the configured one or the latest in the repository
+     */
+    private static ArtifactId getSdkId(final String sdk, final LocalRepository repository) throws IOException {
+        if ( sdk != null ) {
+            return sdk.indexOf(':') == -1
+                ? new ArtifactId(Constants.SDK_GROUP_ID, Constants.SDK_ARTIFACT_ID, sdk, null, null)
+                : ArtifactId.parse(sdk);
+        }
+        final String version = repository.findLatestVersion(Constants.SDK_GROUP_ID, Constants.SDK_ARTIFACT_ID);
+        if ( version == null ) {
+            throw new IOException("No SDK found in the repositories, please specify the SDK version.");
+        }
+        return new ArtifactId(Constants.SDK_GROUP_ID, Constants.SDK_ARTIFACT_ID, version, null, null);
+    }
+
+    /**
+     * Get the add-on ids, either the configured ones or the default add-ons found in the repository.
+     * A configured add-on without classifier gets the classifier of the matching default add-on.
+     */
+    private static List<ArtifactId> getAddons(final List<String> addons, final LocalRepository repository) {
+        final List<ArtifactId> result = new ArrayList<>();
+        if ( addons.isEmpty() ) {
+            for(final ArtifactId addon : Constants.DEFAULT_ADDONS) {
+                final String version = repository.findLatestVersion(addon.getGroupId(), addon.getArtifactId());
+                if ( version != null ) {
+                    result.add(addon.changeVersion(version));
+                }
+            }
+        } else {
+            for(final String value : addons) {
+                ArtifactId addon = ArtifactId.parse(value);
+                if ( addon.getClassifier() == null ) {
+                    for(final ArtifactId defaultAddon : Constants.DEFAULT_ADDONS) {
+                        if ( defaultAddon.isSame(addon) ) {
+                            addon = addon.changeClassifier(defaultAddon.getClassifier());
+                        }
+                    }
+                }
+                result.add(addon);
+            }
+        }
+        return result;
+    }
+
+    private static void delete(final File file) throws IOException {
+        final File[] children = file.listFiles();
+        if ( children != null ) {
+            for(final File child : children) {
+                delete(child);
+            }
+        }
+        if ( file.exists() ) {
+            Files.delete(file.toPath());
+        }
+    }
+
+    /**
+     * The parsed command line arguments
+     */
+    static final class Options {
+
+        final List<File> repositories = new ArrayList<>();
+
+        final List<File> flatDirectories = new ArrayList<>();
+
+        final List<String> addons = new ArrayList<>();
+
+        final Map<String, File> contentPackages = new LinkedHashMap<>();
+
+        String sdk;
+
+        File output = new File("target", "aem-analyser");
+
+        Set<String> tasks;
+
+        Set<String> userTasks;
+
+        int threads;
+
+        boolean failFast;
+
+        boolean strict;
+
+        boolean help;
+
+        // visible for testing
+        static Options parse(final String[] args) {
+            final Options options = new Options();
+            for(int i = 0; i < args.length; i++) {
+                final String arg = args[i];
+                switch ( arg ) {
+                    case "-r":
+                    case "--repository":
+                        final File dir = new File(value(args, ++i, arg));
+                        if ( !dir.isDirectory() ) {
+                            throw new IllegalArgumentException("Repository " + dir + " is not a directory");
+                        }
+                        options.repositories.add(dir);
+                        break;
+                    case "-d":
+                    case "--dir":
+                        final File flatDir = new File(value(args, ++i, arg));
+                        if ( !flatDir.isDirectory() ) {
+                            throw new IllegalArgumentException("Directory " + flatDir + " is not a directory");
+                        }
+                        options.flatDirectories.add(flatDir);
+                        break;
+                    case "-s":
+                    case "--sdk":
+                        options.sdk = value(args, ++i, arg);
+                        break;
+                    case "-a":
+                    case "--addon":
+                        options.addons.add(value(args, ++i, arg));
+                        break;
+                    case "-o":
+                    case "--output":
+                        options.output = new File(value(args, ++i, arg));
+                        break;
+                    case "--tasks":
+                        options.tasks = new LinkedHashSet<>(Arrays.asList(value(args, ++i, arg).split(",")));
+                        break;
+                    case "--user-tasks":
+                        options.userTasks = new LinkedHashSet<>(Arrays.asList(value(args, ++i, arg).split(",")));
+                        break;
+                    case "--threads":
+                        try {
+                            options.threads = Integer.parseInt(value(args, ++i, arg));
+                        } catch (final NumberFormatException e) {
+                            throw new IllegalArgumentException("Invalid number of threads " + args[i]);
+                        }
+                        break;
+                    case "--fail-fast":
+                        options.failFast = true;
+                        break;
+                    case "--strict":
+                        options.strict = true;
+                        break;
+                    case "-h":
+                    case "--help":
+                        options.help = true;
+                        break;
+                    default:
+                        if ( arg.startsWith("-") ) {
+                            throw new IllegalArgumentException("Unknown option " + arg);
+                        }
+                        final File file = new File(arg);
+                        if ( !file.isFile() ) {
+                            throw new IllegalArgumentException("Content package " + file + " not found");
+                        }
+                        options.contentPackages.put(file.getAbsolutePath(), file);
+                }
+            }
+            if ( options.help ) {
+                return options;
+            }
+            if ( options.contentPackages.isEmpty() ) {
+                throw new IllegalArgumentException("No content packages specified");
+            }
+            if ( options.repositories.isEmpty() && options.flatDirectories.isEmpty() ) {
+                final File dir = new File(System.getProperty("user.home"), ".m2/repository");
+                if ( !dir.isDirectory() ) {
+                    throw new IllegalArgumentException("No repository specified and " + dir + " not found");
+                }
+                options.repositories.add(dir);
+            }
+            return options;
+        }
+
+        private static String value(final String[] args, final int index, final String option) {
+            if ( index >= args.length ) {
+                throw new IllegalArgumentException("Missing value for option " + option);
+            }
+            return args[index];
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser.cli;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.sling.feature.ArtifactId;
+import org.apache.sling.feature.Feature;
+import org.apache.sling.feature.builder.ArtifactProvider;
+import org.apache.sling.feature.io.json.FeatureJSONReader;
+
+/**
+ * Artifact and feature provider for local directories. Artifacts are looked up
+ * in the Maven repository layout of the repository directories first, for example a
+ * local Maven repository, and then by their Maven file name in the flat directories.
+ * This allows to simply put the SDK and add-on features and jars into a directory.
+ * The directories are never searched recursively.
+ * <p>
+ * The repository never accesses the network.
+ */
+class LocalRepository implements ArtifactProvider {
+
+    private final List<File> repositories;
+
+    private final List<File> flatDirectories;
+
+    private final Map<ArtifactId, Feature> features = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new repository
+     * @param repositories The directories in Maven repository layout, searched in the given order
+     * @param flatDirectories The directories containing the files directly, searched in the given order
+     */
+    LocalRepository(final List<File> repositories, final List<File> flatDirectories) {
+        this.repositories = new ArrayList<>(repositories);
+        this.flatDirectories = new ArrayList<>(flatDirectories);
+    }
+
+    /**
+     * Get all directories, the repositories followed by the flat directories
+     * @return The directories
+     */
+    List<File> getDirectories() {
+        final List<File> result = new ArrayList<>(this.repositories);
+        result.addAll(this.flatDirectories);
+        return result;
+    }
+
+    /**
+     * Get the file of an artifact
+     * @param id The artifact id
+     * @return The file or {@code null}
+     */
+    File getFile(final ArtifactId id) {
+        for(final File dir : this.repositories) {
+            final File file = new File(dir, id.toMvnPath());
+            if ( file.isFile() ) {
+                return file;
+            }
+        }
+        for(final File dir : this.flatDirectories) {
+            final File file = new File(dir, id.toMvnName());
+            if ( file.isFile() ) {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public URL provide(final ArtifactId id) {
+        final File file = this.getFile(id);
+        if ( file != null ) {
+            try {
+                return file.toURI().toURL();
+            } catch (final MalformedURLException e) {
+                // ignore
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Read a feature. The feature is parsed once, a copy is returned for every call.
+     * @param id The feature id
+     * @return The feature
+     * @throws IllegalArgumentException If the feature can't be found or read
+     */
+    Feature readFeature(final ArtifactId id) {
+        Feature feature = this.features.get(id);
+        if ( feature == null ) {
+            final File file = this.getFile(id);
+            if ( file == null ) {
+                throw new IllegalArgumentException("Unable to find feature " + id.toMvnId() + " in " + this.getDirectories());
+            }
+            try (final Reader reader = new FileReader(file)) {
+                feature = FeatureJSONReader.read(reader, file.getAbsolutePath());
+            } catch (final IOException ioe) {
+                throw new IllegalArgumentException("Unable to read feature file " + file + " for " + id.toMvnId(), ioe);
+            }
+            this.features.put(id, feature);
+        }
+        return feature.copy();
+    }
+
+    /**
+     * Find the latest version of an artifact in the repository directories
+     * @param groupId The group id
+     * @param artifactId The artifact id
+     * @return The latest version or {@code null}
+     */
+    String findLatestVersion(final String groupId, final String artifactId) {
+        ArtifactId latest = null;
+        for(final File dir : this.repositories) {
+            final File versionsDir = new File(dir, groupId.replace('.', '/').concat("/").concat(artifactId));
+            final File[] versions = versionsDir.listFiles(File::isDirectory);
+            if ( versions == null ) {
+                continue;
+            }
+            for(final File version : versions) {
+                // ignore versions without files, for example failed downloads
+                final String prefix = artifactId.concat("-").concat(version.getName());
+                final String[] files = version.list((d, name) -> name.startsWith(prefix) && !name.endsWith(".lastUpdated"));
+                if ( files == null || files.length == 0 ) {
+                    continue;
+                }
+                final ArtifactId candidate = new ArtifactId(groupId, artifactId, version.getName(), null, null);
+                if ( latest == null || candidate.getOSGiVersion().compareTo(latest.getOSGiVersion()) > 0 ) {
+                    latest = candidate;
+                }
+            }
+        }
+        return latest != null ? latest.getVersion() : null;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Binary cache file for the API metadata of an SDK API jar. The metadata is extracted
+ * once from the jar and stored as named sections of strings, for example the provider
+ * types. Later runs read the small file at once instead of inflating and parsing the jar.
+ * <p>
+ * The file starts with a magic number and a format version, followed by the size and
+ * the last modification time of the jar it has been created from. Files with a different
+ * format or for a changed jar are ignored.
+ */
+class ApiInfoCache {
+
+    /** Magic number of the file: "AEMA" */
+    private static final int MAGIC = 0x41454D41;
+
+    /** The format version, increase if the format changes */
+    private static final int FORMAT_VERSION = 1;
+
+    private final File file;
+
+    /**
+     * Create a new cache
+     * @param file The cache file
+     */
+    ApiInfoCache(final File file) {
+        this.file = file;
+    }
+
+    /**
+     * Get the cache file
+     * @return The file
+     */
+    File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Read the cached metadata
+     * @param source The jar the metadata has been extracted from
+     * @return The sections or {@code null} if there is no cache file, or it is outdated or corrupt
+     */
+    Map<String, Set<String>> read(final File source) {
+        if ( !this.file.isFile() ) {
+            return null;
+        }
+        try {
+            // the file is small, a heap buffer avoids a mapping which blocks replacing the file on Windows
+            final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(this.file.toPath()));
+            if ( buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION
+                 || buffer.getLong() != source.length() || buffer.getLong() != source.lastModified() ) {
+                return null;
+            }
+            final Map<String, Set<String>> sections = new LinkedHashMap<>();
+            final int sectionCount = buffer.getInt();
+            for(int i = 0; i < sectionCount; i++) {
+                final String name = readString(buffer);
+                final int count = buffer.getInt();
+                final Set<String> values = new LinkedHashSet<>();
+                for(int j = 0; j < count; j++) {
+                    values.add(readString(buffer));
+                }
+                sections.put(name, Collections.unmodifiableSet(values));
+            }
+            return sections;
+        } catch (final IOException | BufferUnderflowException | IllegalArgumentException e) {
+            // a corrupt cache is treated like a missing one
+            return null;
+        }
+    }
+
+    /**
+     * Write the metadata to the cache file. The file is replaced atomically, so
+     * concurrent builds never read a partially written file.
+     * @param source The jar the metadata has been extracted from
+     * @param sections The sections
+     * @throws IOException If writing fails
+     */
+    void write(final File source, final Map<String, Set<String>> sections) throws IOException {
+        final Path dir = this.file.getAbsoluteFile().getParentFile().toPath();
+        Files.createDirectories(dir);
+        final Path tmp = Files.createTempFile(dir, this.file.getName(), ".tmp");
+        try {
+            try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(source.length());
+                out.writeLong(source.lastModified());
+                out.writeInt(sections.size());
+                for(final Map.Entry<String, Set<String>> entry : sections.entrySet()) {
+                    writeString(out, entry.getKey());
+                    out.writeInt(entry.getValue().size());
+                    for(final String value : entry.getValue()) {
+                        writeString(out, value);
+                    }
+                }
+            }
+            try {
+                Files.move(tmp, this.file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(tmp, this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if ( length < 0 || length > buffer.remaining() ) {
+            throw new IllegalArgumentException("Invalid string length " + length);
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -11,12 +11,11 @@
 */
 package com.adobe.aem.analyser.impl;
 
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Dictionary;
 import java.util.EnumSet;
-import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.apache.felix.configadmin.plugin.interpolation.Interpolator;
@@ -34,12 +33,20 @@ public class EnvVarAnalyserTask implements AnalyserTask {
 
     private static final String TYPE_SECRET = "secret";
 
-    private static final List<String> PREFIXES = Arrays.asList("INTERNAL_", "ADOBE_");
+    private static final String[] PREFIXES = {"INTERNAL_", "ADOBE_"};
 
+    /** The naming scheme, only used for the messages. Names are checked by {@link #isValidName(String, int)} */
     private static final Pattern NAME_PATTERN = Pattern.compile("[a-zA-Z_][a-zA-Z_0-9]*");
 
     private static final String SECRETS_PATH = "customer-secrets/";
 
+    /** Start of a placeholder, values without it can't use env vars or secrets */
+    private static final String PLACEHOLDER_START = "$[";
+
+    private static final int MIN_NAME_LENGTH = 2;
+
+    private static final int MAX_NAME_LENGTH = 100;
+
     @Override
     public String getId() {
         return "aem-env-var";
@@ -107,7 +114,7 @@ public class EnvVarAnalyserTask implements AnalyserTask {
      * @param propName The property name
      * @param value The property value
      */
-    private void reportErrorOrWarning(final EnumSet<Usage> usage, 
+    private void reportErrorOrWarning(final Set<Usage> usage, 
         final AnalyserTaskContext context, final Configuration cfg, final String propName, final String value) {
         for(final Usage u : usage) {
             if ( u.isError() ) {
@@ -140,49 +147,80 @@ public class EnvVarAnalyserTask implements AnalyserTask {
 
     /**
      * Check if a value is using unwanted prefixes.
+     * Most values do not contain a placeholder at all, these are detected without
+     * any allocation. Only values containing a placeholder are passed to the interpolator.
      * @param value The value
      * @return The set of violations, might be empty
      */
-    private EnumSet<Usage> checkValue(final String value) {
+    private Set<Usage> checkValue(final String value) {
+        if ( value.indexOf(PLACEHOLDER_START) == -1 ) {
+            return Collections.emptySet();
+        }
         final EnumSet<Usage> result = EnumSet.noneOf(Usage.class);
         Interpolator.replace(value, new Provider() {
 
             @Override
             public Object provide(final String type, final String name, final Map<String, String> directives) {
                 if ( TYPE_ENV.equals(type) ) {
-                    for(final String prefix : PREFIXES) {
-                        if ( name.startsWith(prefix) ) {
-                            result.add(Usage.ENV);
-                        }
-                    }
-                    if ( !NAME_PATTERN.matcher(name).matches() ) {
-                        result.add(Usage.ENV_PATTERN);
-                    }
-                    if ( name.length() < 2 || name.length() > 100 ) {
-                        result.add(Usage.ENV_SIZE);
-                    }
+                    checkName(name, 0, result, Usage.ENV, Usage.ENV_PATTERN, Usage.ENV_SIZE);
                 } else if ( TYPE_SECRET.equals(type) ) {
-                    String value = name;
-                    if ( value.startsWith(SECRETS_PATH) ) {
-                        value = value.substring(SECRETS_PATH.length());
+                    int offset = 0;
+                    if ( name.startsWith(SECRETS_PATH) ) {
+                        offset = SECRETS_PATH.length();
                         result.add(Usage.SECRET_PATH);
                     }
-                    for(final String prefix : PREFIXES) {
-                        if ( value.startsWith(prefix) ) {
-                            result.add(Usage.SECRET);
-                        }
-                    }    
-                    if ( !NAME_PATTERN.matcher(value).matches() ) {
-                        result.add(Usage.SECRET_PATTERN);
-                    }
-                    if ( value.length() < 2 || value.length() > 100 ) {
-                        result.add(Usage.SECRET_SIZE);
-                    }
+                    checkName(name, offset, result, Usage.SECRET, Usage.SECRET_PATTERN, Usage.SECRET_SIZE);
                 }
                 return "";
             }
-            
+
         });
         return result;
     }
+
+    /**
+     * Check the name of an env var or secret for prefix, pattern and size violations
+     * @param name The name
+     * @param offset The offset where the actual name starts
+     * @param result The set to add the violations to
+     * @param prefixUsage The violation for a reserved prefix
+     * @param patternUsage The violation for the naming scheme
+     * @param sizeUsage The violation for the length restriction
+     */
+    private static void checkName(final String name, final int offset, final EnumSet<Usage> result,
+            final Usage prefixUsage, final Usage patternUsage, final Usage sizeUsage) {
+        for(final String prefix : PREFIXES) {
+            if ( name.startsWith(prefix, offset) ) {
+                result.add(prefixUsage);
+            }
+        }
+        if ( !isValidName(name, offset) ) {
+            result.add(patternUsage);
+        }
+        final int length = name.length() - offset;
+        if ( length < MIN_NAME_LENGTH || length > MAX_NAME_LENGTH ) {
+            result.add(sizeUsage);
+        }
+    }
+
+    /**
+     * Check if the name follows the naming scheme {@link #NAME_PATTERN}
+     * @param name The name
+     * @param offset The offset where the actual name starts
+     * @return {@code true} if the name is valid
+     */
+    static boolean isValidName(final String name, final int offset) {
+        if ( offset >= name.length() ) {
+            return false;
+        }
+        for(int i = offset; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            final boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_'
+                || (i > offset && c >= '0' && c <= '9');
+            if ( !valid ) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
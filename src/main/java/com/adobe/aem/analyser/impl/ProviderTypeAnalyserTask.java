@@ -11,13 +11,14 @@
 */
 package com.adobe.aem.analyser.impl;
 
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
@@ -34,8 +35,6 @@ import org.slf4j.LoggerFactory;
 import jakarta.json.Json;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonValue;
-import javassist.ClassPool;
-import javassist.CtClass;
 import javassist.bytecode.ClassFile;
 
 /**
@@ -43,45 +42,148 @@ import javassist.bytecode.ClassFile;
  */
 public class ProviderTypeAnalyserTask implements AnalyserTask {
 
+    /** The id of the task */
+    public static final String ID = "aem-provider-type";
+
     /** Configuration property to enable strict checking */
     private static final String CFG_STRICT = "strict";
 
+    /** Configuration property with the mvn id of the SDK to use, defaults to the SDK initialized last */
+    public static final String CFG_SDK = "sdk";
+
     private static final String PROVIDER_TYPES_FILE = "META-INF/api-info.json";
     private static final String PROVIDER_TYPES_KEY = "providerTypes";
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ProviderTypeAnalyserTask.class);
 
-    private static final List<String> PROVIDER_TYPES = new ArrayList<>();
+    /** The provider types of all SDKs used so far */
+    private static final ProviderTypeRegistry REGISTRY = new ProviderTypeRegistry();
 
+    /**
+     * Initialize the provider types of the SDK. The provider types of an SDK are only read
+     * once, later calls for the same SDK just select it.
+     * @param sdkId The SDK
+     * @param apiFile The SDK API jar
+     * @return {@code true} if provider types are available for the SDK
+     */
     public static boolean initializeProviderTypeInfo(final ArtifactId sdkId, final File apiFile) {
+        return initializeProviderTypeInfo(sdkId, apiFile, null);
+    }
+
+    /**
+     * Initialize the provider types of the SDK. The provider types of an SDK are only read
+     * once, later calls for the same SDK just select it. If a cache directory is provided,
+     * the API metadata of the jar is extracted into a cache file there and read from that
+     * file by later builds.
+     * @param sdkId The SDK
+     * @param apiFile The SDK API jar
+     * @param cacheDir The directory for the API metadata cache or {@code null}
+     * @return {@code true} if provider types are available for the SDK
+     * @since 1.7.3
+     */
+    public static boolean initializeProviderTypeInfo(final ArtifactId sdkId, final File apiFile, final File cacheDir) {
+        try {
+            final ProviderTypeRegistry.ProviderTypes types = REGISTRY.getOrLoad(sdkId, () -> {
+                final Map<String, Set<String>> info = readApiInfo(sdkId, apiFile, cacheDir);
+                return info != null ? info.get(PROVIDER_TYPES_KEY) : null;
+            });
+            if ( types != null ) {
+                LOGGER.debug("Found {} provider types in {}", types.getTypes().size(), sdkId.toMvnId());
+                return true;
+            }
+        } catch ( final IOException ioe) {
+            LOGGER.error("Error while reading API info from {}", sdkId.toMvnId());
+        }
+        return false;
+    }
+
+    /**
+     * Remove the provider types of an SDK. In a JVM running several builds, like the
+     * Maven daemon, this drops the provider types of an SDK no longer used.
+     * @param sdkId The mvn id of the SDK
+     * @since 1.7.3
+     */
+    public static void removeProviderTypeInfo(final String sdkId) {
+        REGISTRY.remove(sdkId);
+    }
+
+    /**
+     * Read the API metadata, from the cache if possible
+     * @param sdkId The SDK
+     * @param apiFile The SDK API jar
+     * @param cacheDir The cache directory or {@code null}
+     * @return The API metadata or {@code null} if the jar has none
+     * @throws IOException If reading the jar fails
+     */
+    private static Map<String, Set<String>> readApiInfo(final ArtifactId sdkId, final File apiFile, final File cacheDir) throws IOException {
+        final ApiInfoCache cache = cacheDir != null ? new ApiInfoCache(getCacheFile(cacheDir, sdkId)) : null;
+        if ( cache != null ) {
+            final Map<String, Set<String>> info = cache.read(apiFile);
+            if ( info != null ) {
+                LOGGER.debug("Using cached API info for {} from {}", sdkId.toMvnId(), cache.getFile());
+                return info;
+            }
+        }
+        final Map<String, Set<String>> info = readApiInfoFromJar(sdkId, apiFile);
+        if ( cache != null && info != null ) {
+            try {
+                cache.write(apiFile, info);
+            } catch (final IOException ioe) {
+                // the cache is an optimization only
+                LOGGER.debug("Unable to write API info cache {} : {}", cache.getFile(), ioe.getMessage());
+            }
+        }
+        return info;
+    }
+
+    /**
+     * Get the cache file for an SDK
+     * @param cacheDir The cache directory
+     * @param sdkId The SDK
+     * @return The file
+     */
+    // visible for testing
+    static File getCacheFile(final File cacheDir, final ArtifactId sdkId) {
+        return new File(cacheDir, sdkId.toMvnId().replace(':', '_').concat(".bin"));
+    }
+
+    /**
+     * Read all string arrays from the API info file of the jar
+     * @param sdkId The SDK
+     * @param apiFile The SDK API jar
+     * @return The arrays by name or {@code null} if the jar has no provider type information
+     * @throws IOException If reading the jar fails
+     */
+    private static Map<String, Set<String>> readApiInfoFromJar(final ArtifactId sdkId, final File apiFile) throws IOException {
         try (final JarFile jarFile = new JarFile(apiFile)) {
             final JarEntry entry = jarFile.getJarEntry(PROVIDER_TYPES_FILE);
             if (entry != null) {
                 try (final InputStream is = jarFile.getInputStream(entry)) {
-                    final JsonObject providerTypeInfo = Json.createReader(is).readObject();
-                    if (providerTypeInfo.containsKey(PROVIDER_TYPES_KEY)) {
-                        for(final JsonValue v : providerTypeInfo.getJsonArray(PROVIDER_TYPES_KEY)) {
-                            PROVIDER_TYPES.add(Configurations.convertToObject(v).toString());
+                    final JsonObject apiInfo = Json.createReader(is).readObject();
+                    if (apiInfo.containsKey(PROVIDER_TYPES_KEY)) {
+                        final Map<String, Set<String>> info = new LinkedHashMap<>();
+                        for(final Map.Entry<String, JsonValue> prop : apiInfo.entrySet()) {
+                            if ( prop.getValue().getValueType() == JsonValue.ValueType.ARRAY ) {
+                                final Set<String> values = new LinkedHashSet<>();
+                                for(final JsonValue v : prop.getValue().asJsonArray()) {
+                                    values.add(Configurations.convertToObject(v).toString());
+                                }
+                                info.put(prop.getKey(), values);
+                            }
                         }
-                        LOGGER.debug("Found {} provider types in {}", PROVIDER_TYPES.size(), sdkId.toMvnId());
-                        return true;
+                        return info;
                     }
                 }
             } else {
                 LOGGER.error("API info not found in {}. Please update to a more recent version of the API. ", sdkId.toMvnId());
             }
-        } catch ( final IOException ioe) {
-            LOGGER.error("Error while reading API info from {}", sdkId.toMvnId());
         }
-        return false;
+        return null;
     }
 
-    /** We cache the result to avoid rescanning classes files for bundles used in more than one feature. */
-    private static final Map<String, String> CHECKED_CLASSES = new HashMap<>();
-
     @Override
     public String getId() {
-        return "aem-provider-type";
+        return ID;
     }
 
     @Override
@@ -91,23 +193,26 @@ public class ProviderTypeAnalyserTask implements AnalyserTask {
 
     @Override
     public void execute(final AnalyserTaskContext context) throws Exception {
-        if ( PROVIDER_TYPES.isEmpty() ) {
+        final String sdkId = context.getConfiguration().get(CFG_SDK);
+        final ProviderTypeRegistry.ProviderTypes providerTypes = sdkId != null ? REGISTRY.get(sdkId) : REGISTRY.getLatest();
+        if ( providerTypes == null || providerTypes.getTypes().isEmpty() ) {
             context.reportError("No provider types found.");
             return;
         }
         final boolean strict = Boolean.parseBoolean(context.getConfiguration().get(CFG_STRICT));
         for(final BundleDescriptor bundle : context.getFeatureDescriptor().getBundleDescriptors()) {
-            analyse(context, bundle, strict);
+            analyse(context, providerTypes, bundle, strict);
         }
     }
 
-    private void analyse(final AnalyserTaskContext context, final BundleDescriptor bundle, final boolean strict) {
+    private void analyse(final AnalyserTaskContext context, final ProviderTypeRegistry.ProviderTypes providerTypes,
+            final BundleDescriptor bundle, final boolean strict) {
         try ( final JarInputStream jis = new JarInputStream(bundle.getArtifactFile().openStream())) {
             JarEntry entry = null;
             while ( (entry = jis.getNextJarEntry()) != null ) {
                 if (entry.getName().endsWith(".class") && !entry.getName().startsWith("META-INF/")) {
                     final String className = entry.getName().substring(0, entry.getName().length() - 6).replace('/', '.');
-                    this.checkClass(context, bundle, className, jis, strict);
+                    this.checkClass(context, providerTypes, bundle, className, jis, strict);
                 } else if (entry.getName().endsWith(".jar")) {
                     // embedded jar?
                     final String cp = bundle.getManifest().getMainAttributes().getValue(Constants.BUNDLE_CLASSPATH);
@@ -119,7 +224,7 @@ public class ProviderTypeAnalyserTask implements AnalyserTask {
                                 while ( (inner = ejis.getNextJarEntry()) != null ) {
                                     if (inner.getName().endsWith(".class") && !inner.getName().startsWith("META-INF/")) {
                                         final String className = inner.getName().substring(0, inner.getName().length() - 6).replace('/', '.');
-                                        this.checkClass(context, bundle, className, ejis, strict);
+                                        this.checkClass(context, providerTypes, bundle, className, ejis, strict);
                                     }
                                 }
                                 break;
@@ -133,24 +238,36 @@ public class ProviderTypeAnalyserTask implements AnalyserTask {
         }
     }
 
-    private void checkClass(final AnalyserTaskContext context, final BundleDescriptor bundle, final String className, final InputStream clazzStream, final boolean strict) throws IOException, RuntimeException {
+    private void checkClass(final AnalyserTaskContext context, final ProviderTypeRegistry.ProviderTypes providerTypes,
+            final BundleDescriptor bundle, final String className, final InputStream clazzStream, final boolean strict) throws IOException, RuntimeException {
         final String key = bundle.getArtifact().getId().toMvnId().concat(":").concat(className);
-        String known = CHECKED_CLASSES.get(key);
+        String known = providerTypes.getCheckedClasses().get(key);
         if (known != null) {
             this.reportProviderTypeUsage(context, bundle, className, known, strict);
             return;
         }
-        final CtClass cc = ClassPool.getDefault().makeClass(clazzStream); // don't close this stream
-        cc.setName(className);
+        final String result = this.getProviderTypes(providerTypes.getTypes(), clazzStream);
+        this.reportProviderTypeUsage(context, bundle, className, result, strict);
+        providerTypes.getCheckedClasses().put(key, result);
+    }
+
+    /**
+     * Get the provider types a class directly implements or extends
+     * @param providerTypes The provider types
+     * @param clazzStream The class file, the stream is not closed
+     * @return The provider types or an empty string
+     * @throws IOException If the class file can't be read
+     */
+    // visible for testing
+    String getProviderTypes(final Set<String> providerTypes, final InputStream clazzStream) throws IOException {
+        // only the class file is parsed, nothing is added to a class pool
+        final ClassFile cfile = new ClassFile(new DataInputStream(clazzStream)); // don't close this stream
 
-        final ClassFile cfile = cc.getClassFile();
         String result = "";
         for(final String name : cfile.getInterfaces()) {
-            result = this.checkClassForProviderType(result, name);
+            result = this.checkClassForProviderType(providerTypes, result, name);
         }
-        result = this.checkClassForProviderType(result, cfile.getSuperclass());
-        this.reportProviderTypeUsage(context, bundle, className, result, strict);
-        CHECKED_CLASSES.put(key, result);
+        return this.checkClassForProviderType(providerTypes, result, cfile.getSuperclass());
     }
 
     private void reportProviderTypeUsage(final AnalyserTaskContext context, final BundleDescriptor bundle, final String className, final String providerType, final boolean strict) {
@@ -164,12 +281,12 @@ public class ProviderTypeAnalyserTask implements AnalyserTask {
         }
     }
 
-    private String checkClassForProviderType(final String result, final String name) {
-        if (PROVIDER_TYPES.contains(name)) {
+    private String checkClassForProviderType(final Set<String> providerTypes, final String result, final String name) {
+        if (providerTypes.contains(name)) {
             if (!result.isEmpty()) {
-                return result.concat(", ");
+                return result.concat(", ").concat(name);
             }
-            return result.concat(name);
+            return name;
         }
         return result;
     }
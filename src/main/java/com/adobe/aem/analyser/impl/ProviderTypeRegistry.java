@@ -0,0 +1,133 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.sling.feature.ArtifactId;
+
+/**
+ * Registry for the provider types of the SDKs. The provider types of an SDK are
+ * loaded once and shared by all analyser runs within the JVM, for example by all
+ * modules of a parallel build.
+ */
+class ProviderTypeRegistry {
+
+    /**
+     * Loads the provider types of an SDK
+     */
+    @FunctionalInterface
+    interface Loader {
+
+        /**
+         * Load the provider types
+         * @return The provider types or {@code null} if the SDK has no provider type information
+         * @throws IOException If loading fails
+         */
+        Set<String> load() throws IOException;
+    }
+
+    /**
+     * The provider types of a single SDK together with the results of the already checked classes
+     */
+    static final class ProviderTypes {
+
+        private final Set<String> types;
+
+        private final Map<String, String> checkedClasses = new ConcurrentHashMap<>();
+
+        ProviderTypes(final Set<String> types) {
+            this.types = Collections.unmodifiableSet(new LinkedHashSet<>(types));
+        }
+
+        /**
+         * The provider types
+         * @return An unmodifiable set of class names
+         */
+        Set<String> getTypes() {
+            return this.types;
+        }
+
+        /**
+         * Cache for already checked classes, to avoid rescanning class files for bundles used in more than one feature
+         * @return A thread-safe map from bundle and class name to the found provider types
+         */
+        Map<String, String> getCheckedClasses() {
+            return this.checkedClasses;
+        }
+    }
+
+    private final Map<String, ProviderTypes> registry = new ConcurrentHashMap<>();
+
+    private volatile ProviderTypes latest;
+
+    /**
+     * Get the provider types of an SDK, loading them if they are not registered yet
+     * @param sdkId The SDK
+     * @param loader The loader used if the SDK is not registered yet
+     * @return The provider types or {@code null} if the loader did not find any
+     * @throws IOException If loading fails
+     */
+    ProviderTypes getOrLoad(final ArtifactId sdkId, final Loader loader) throws IOException {
+        final ProviderTypes result;
+        try {
+            result = this.registry.computeIfAbsent(sdkId.toMvnId(), key -> {
+                try {
+                    final Set<String> types = loader.load();
+                    return types == null ? null : new ProviderTypes(types);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if ( result != null ) {
+            this.latest = result;
+        }
+        return result;
+    }
+
+    /**
+     * Get the provider types of a registered SDK
+     * @param sdkId The mvn id of the SDK
+     * @return The provider types or {@code null}
+     */
+    ProviderTypes get(final String sdkId) {
+        return this.registry.get(sdkId);
+    }
+
+    /**
+     * Remove the provider types of an SDK
+     * @param sdkId The mvn id of the SDK
+     */
+    void remove(final String sdkId) {
+        final ProviderTypes removed = this.registry.remove(sdkId);
+        if ( removed != null && this.latest == removed ) {
+            this.latest = null;
+        }
+    }
+
+    /**
+     * Get the provider types of the SDK registered or looked up last
+     * @return The provider types or {@code null}
+     */
+    ProviderTypes getLatest() {
+        return this.latest;
+    }
+}
@@ -15,7 +15,11 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -32,6 +36,7 @@ import org.apache.sling.feature.Feature;
 import org.apache.sling.feature.io.json.FeatureJSONReader;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
 import org.eclipse.aether.resolution.ArtifactRequest;
 import org.eclipse.aether.resolution.ArtifactResolutionException;
 import org.eclipse.aether.resolution.ArtifactResult;
@@ -63,9 +68,36 @@ public abstract class AbstractAemMojo extends AbstractMojo {
     protected RepositorySystemSession repoSession;
 
     /**
-     * Artifact cache
+     * Key for the session cache of parsed features. An object instead of a string, so
+     * different versions of the plugin within the same build don't share the cache.
      */
-    private final Map<String, Artifact> artifactCache = new ConcurrentHashMap<>();
+    private static final Object FEATURE_CACHE_KEY = new Object();
+
+    /**
+     * Caches used if there is no session
+     */
+    private final Map<Object, Map<String, ?>> localCaches = new ConcurrentHashMap<>();
+
+    /**
+     * The mvn id of the SDK whose caches are retained across builds, {@code null} if caches
+     * are not retained
+     */
+    String retainedCachesSdkId;
+
+    /**
+     * Artifact cache, contains resolved artifacts as well as failed resolutions
+     */
+    private final Map<String, CachedArtifact> artifactCache = new ConcurrentHashMap<>();
+
+    /**
+     * Index of the attached artifacts of the project
+     */
+    private final ArtifactIndex attachedArtifacts = new ArtifactIndex();
+
+    /**
+     * Index of the dependency artifacts of the project
+     */
+    private final ArtifactIndex dependencyArtifacts = new ArtifactIndex();
 
     /**
      * If enabled, all analyser warnings will be turned into errors and fail the build.
@@ -74,27 +106,6 @@ public abstract class AbstractAemMojo extends AbstractMojo {
     @Parameter(defaultValue = "false", property = "aem.analyser.strict")
     protected boolean strictValidation;
 
-    /**
-     * Find the artifact in the collection
-     * @param id The artifact id
-     * @param artifacts The collection
-     * @return The artifact or {@code null}
-     */
-    private static Artifact findArtifact(final ArtifactId id, final Collection<Artifact> artifacts) {
-        if (artifacts != null) {
-            for(final Artifact artifact : artifacts) {
-                if ( artifact.getGroupId().equals(id.getGroupId())
-                   && artifact.getArtifactId().equals(id.getArtifactId())
-                   && artifact.getVersion().equals(id.getVersion())
-                   && artifact.getType().equals(id.getType())
-                   && ((id.getClassifier() == null && artifact.getClassifier() == null) || (id.getClassifier() != null && id.getClassifier().equals(artifact.getClassifier()))) ) {
-                    return artifact.getFile() == null ? null : artifact;
-                }
-            }
-        }
-        return null;
-    }
-
     /**
      * Get a resolved Artifact from the coordinates provided
      *
@@ -103,26 +114,91 @@ public abstract class AbstractAemMojo extends AbstractMojo {
      * @throws RuntimeException if the artifact can't be resolved
      */
     Artifact getOrResolveArtifact(final ArtifactId id) {
-        Artifact result = this.artifactCache.get(id.toMvnId());
+        final String key = id.toMvnId();
+        CachedArtifact result = this.artifactCache.get(key);
         if ( result == null ) {
-            result = findArtifact(id, project.getAttachedArtifacts());
-            if ( result == null ) {
-                result = findArtifact(id, project.getArtifacts());
-                if ( result == null ) {
-                    // map Maven type to simple extension
-                    ArtifactRequest req = new ArtifactRequest(new org.eclipse.aether.artifact.DefaultArtifact(resolveTypeInArtifactId(id).toMvnId()), project.getRemoteProjectRepositories(), null);
-                    try {
-                        ArtifactResult resolutionResult = repoSystem.resolveArtifact(repoSession, req);
-                        result = RepositoryUtils.toArtifact(resolutionResult.getArtifact());
-                    } catch (ArtifactResolutionException e) {
-                        throw new RuntimeException("Unable to get artifact for " + id.toMvnId(), e);
-                    }
+            final Artifact artifact = findProjectArtifact(id);
+            if ( artifact != null ) {
+                result = new CachedArtifact(artifact, null);
+            } else {
+                try {
+                    ArtifactResult resolutionResult = repoSystem.resolveArtifact(repoSession, createArtifactRequest(id));
+                    result = new CachedArtifact(RepositoryUtils.toArtifact(resolutionResult.getArtifact()), null);
+                } catch (ArtifactResolutionException e) {
+                    // remember the failure, the same artifact is usually requested several times
+                    result = new CachedArtifact(null, e);
                 }
             }
-            this.artifactCache.put(id.toMvnId(), result);
+            this.artifactCache.put(key, result);
         }
+        if ( result.failure != null ) {
+            throw new RuntimeException("Unable to get artifact for " + key, result.failure);
+        }
+        return result.artifact;
+    }
+
+    /**
+     * Resolve the artifacts with a single request to the repository system and add them to the
+     * artifact cache. The repository system downloads the artifacts of such a request concurrently.
+     * Artifacts which are already known are skipped, artifacts which can't be resolved are left to
+     * {@link #getOrResolveArtifact(ArtifactId)} which reports the failure once the artifact is used.
+     *
+     * @param ids The ids of the artifacts
+     * @return The number of resolved artifacts
+     */
+    int resolveArtifacts(final Collection<ArtifactId> ids) {
+        final List<ArtifactId> pending = new ArrayList<>();
+        final List<ArtifactRequest> requests = new ArrayList<>();
+        for(final ArtifactId id : ids) {
+            if ( !this.artifactCache.containsKey(id.toMvnId()) && findProjectArtifact(id) == null ) {
+                pending.add(id);
+                requests.add(createArtifactRequest(id));
+            }
+        }
+        if ( requests.isEmpty() ) {
+            return 0;
+        }
+        List<ArtifactResult> results;
+        try {
+            results = repoSystem.resolveArtifacts(repoSession, requests);
+        } catch (final ArtifactResolutionException e) {
+            // keep the successfully resolved artifacts
+            results = e.getResults();
+        }
+        int count = 0;
+        // the results are in the order of the requests
+        for(int i = 0; i < pending.size() && i < results.size(); i++) {
+            final ArtifactResult resolutionResult = results.get(i);
+            if ( resolutionResult.isResolved() ) {
+                this.artifactCache.putIfAbsent(pending.get(i).toMvnId(),
+                    new CachedArtifact(RepositoryUtils.toArtifact(resolutionResult.getArtifact()), null));
+                count++;
+            }
+        }
+        return count;
+    }
 
-        return result;
+    /**
+     * Find the artifact in the attached or the dependency artifacts of the project
+     * @param id The artifact id
+     * @return The artifact or {@code null}
+     */
+    private Artifact findProjectArtifact(final ArtifactId id) {
+        final Artifact artifact = this.attachedArtifacts.find(id, project.getAttachedArtifacts());
+        if ( artifact != null ) {
+            return artifact;
+        }
+        return this.dependencyArtifacts.find(id, project.getArtifacts());
+    }
+
+    /**
+     * Create the request to resolve the artifact from the project repositories
+     * @param id The artifact id
+     * @return The request
+     */
+    private ArtifactRequest createArtifactRequest(final ArtifactId id) {
+        // map Maven type to simple extension
+        return new ArtifactRequest(new org.eclipse.aether.artifact.DefaultArtifact(resolveTypeInArtifactId(id).toMvnId()), project.getRemoteProjectRepositories(), null);
     }
 
     /**
@@ -143,7 +219,9 @@ public abstract class AbstractAemMojo extends AbstractMojo {
     }
 
     /**
-     * Get a resolved feature
+     * Get a resolved feature. Parsed features are cached for the whole session, as the same
+     * SDK and add-on features are requested by every module. As callers might change the
+     * feature, a copy of the cached feature is returned.
      *
      * @param id The artifact id of the feature
      * @return The feature
@@ -151,11 +229,74 @@ public abstract class AbstractAemMojo extends AbstractMojo {
      */
     Feature getOrResolveFeature(final ArtifactId id) {
         final File artFile = getOrResolveArtifact(id).getFile();
-        try (final Reader reader = new FileReader(artFile)) {
-            return FeatureJSONReader.read(reader, artFile.getAbsolutePath());
-        } catch (final IOException ioe) {
-            throw new RuntimeException("Unable to read feature file " + artFile + " for " + id.toMvnId(), ioe);
+        final Map<String, Feature> cache = this.getRetainedCache(FEATURE_CACHE_KEY);
+        final String key = id.toMvnId().concat("|").concat(getFingerprint(artFile));
+        Feature feature = cache.get(key);
+        if ( feature == null ) {
+            try (final Reader reader = new FileReader(artFile)) {
+                feature = FeatureJSONReader.read(reader, artFile.getAbsolutePath());
+            } catch (final IOException ioe) {
+                throw new RuntimeException("Unable to read feature file " + artFile + " for " + id.toMvnId(), ioe);
+            }
+            cache.put(key, feature);
+        }
+        return feature.copy();
+    }
+
+    /**
+     * Get the fingerprint of the file of an artifact. It includes timestamp and size,
+     * as the file might be rebuilt or re-installed within the session.
+     *
+     * @param id The artifact id
+     * @return The fingerprint
+     * @throws RuntimeException if the artifact can't be resolved
+     */
+    String getFileFingerprint(final ArtifactId id) {
+        return getFingerprint(getOrResolveArtifact(id).getFile());
+    }
+
+    static String getFingerprint(final File file) {
+        return file.getAbsolutePath()
+            .concat("|").concat(String.valueOf(file.lastModified()))
+            .concat("|").concat(String.valueOf(file.length()));
+    }
+
+    /**
+     * Get a cache which is shared by all mojo executions of the current session.
+     * If there is no session, the cache is local to this mojo.
+     *
+     * @param <T> The type of the cached values
+     * @param key The key of the cache
+     * @return The cache
+     */
+    @SuppressWarnings("unchecked")
+    <T> Map<String, T> getSessionCache(final Object key) {
+        final SessionData data = this.repoSession != null ? this.repoSession.getData() : null;
+        if ( data == null ) {
+            return (Map<String, T>) this.localCaches.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
         }
+        Object cache = data.get(key);
+        if ( cache == null ) {
+            // another thread might have set it in the meantime
+            data.set(key, null, new ConcurrentHashMap<String, T>());
+            cache = data.get(key);
+        }
+        return (Map<String, T>) cache;
+    }
+
+    /**
+     * Get a cache which is retained across builds running in the same JVM, if enabled.
+     * Otherwise the cache of the current session is returned.
+     *
+     * @param <T> The type of the cached values
+     * @param key The key of the cache
+     * @return The cache
+     */
+    <T> Map<String, T> getRetainedCache(final Object key) {
+        if ( this.retainedCachesSdkId != null ) {
+            return RetainedCaches.getCache(this.retainedCachesSdkId, key);
+        }
+        return this.getSessionCache(key);
     }
 
     protected void printResult(final AemAnalyserResult result) {
@@ -170,4 +311,95 @@ public abstract class AbstractAemMojo extends AbstractMojo {
             getLog().error(ann.toString());
         }
     }
+
+    /**
+     * Result of a lookup, either the artifact or the resolution failure
+     */
+    private static final class CachedArtifact {
+
+        final Artifact artifact;
+
+        final ArtifactResolutionException failure;
+
+        CachedArtifact(final Artifact artifact, final ArtifactResolutionException failure) {
+            this.artifact = artifact;
+            this.failure = failure;
+        }
+    }
+
+    /**
+     * Coordinate-keyed index of a collection of artifacts. The index is rebuilt
+     * whenever the collection changes, for example when a mojo attaches an artifact.
+     * A change is detected by the size and the last artifact of the collection, as the
+     * project might return a new view of the same artifacts for every call.
+     */
+    static final class ArtifactIndex {
+
+        private int size;
+
+        private Artifact last;
+
+        private int builds;
+
+        private Map<String, Artifact> index = Collections.emptyMap();
+
+        /**
+         * Find the artifact in the collection
+         * @param id The artifact id
+         * @param artifacts The collection
+         * @return The artifact or {@code null}
+         */
+        synchronized Artifact find(final ArtifactId id, final Collection<Artifact> artifacts) {
+            if ( artifacts == null ) {
+                return null;
+            }
+            final Artifact lastArtifact = getLast(artifacts);
+            if ( artifacts.size() != this.size || lastArtifact != this.last || this.builds == 0 ) {
+                final Map<String, Artifact> map = new HashMap<>();
+                for(final Artifact artifact : artifacts) {
+                    // first one wins, like a linear search
+                    map.putIfAbsent(getKey(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion(),
+                        artifact.getType(), artifact.getClassifier()), artifact);
+                }
+                this.index = map;
+                this.size = artifacts.size();
+                this.last = lastArtifact;
+                this.builds++;
+            }
+            final Artifact artifact = this.index.get(getKey(id.getGroupId(), id.getArtifactId(), id.getVersion(),
+                id.getType(), id.getClassifier()));
+            return artifact == null || artifact.getFile() == null ? null : artifact;
+        }
+
+        // visible for testing
+        synchronized int getBuilds() {
+            return this.builds;
+        }
+
+        private static Artifact getLast(final Collection<Artifact> artifacts) {
+            if ( artifacts.isEmpty() ) {
+                return null;
+            }
+            if ( artifacts instanceof List ) {
+                return ((List<Artifact>) artifacts).get(artifacts.size() - 1);
+            }
+            // walking the collection is still much cheaper than rebuilding the index
+            Artifact result = null;
+            for(final Artifact artifact : artifacts) {
+                result = artifact;
+            }
+            return result;
+        }
+
+        private static String getKey(final String groupId, final String artifactId, final String version,
+                final String type, final String classifier) {
+            final StringBuilder sb = new StringBuilder();
+            sb.append(groupId).append(':').append(artifactId).append(':').append(version).append(':').append(type);
+            // a missing classifier must not match an empty one
+            if ( classifier != null ) {
+                sb.append(':').append(classifier);
+            }
+            return sb.toString();
+        }
+    }
 }
@@ -11,7 +11,10 @@
 */
 package com.adobe.aem.analyser.mojos;
 
+import java.io.File;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -28,6 +31,16 @@ import com.adobe.aem.analyser.result.AemAnalyserResult;
  */
 public abstract class AbstractAnalyseMojo extends AbstractAemMojo {
 
+    /**
+     * Key for the session cache of the latest versions
+     */
+    private static final Object VERSION_CACHE_KEY = new Object();
+
+    /**
+     * Key for the session cache identifying the current build
+     */
+    private static final Object BUILD_CACHE_KEY = new Object();
+
     /**
      * The artifact id of the sdk api jar. The artifact id is automatically detected by this plugin,
      * by using this configuration the auto detection can be disabled
@@ -65,7 +78,7 @@ public abstract class AbstractAnalyseMojo extends AbstractAemMojo {
      * Fail on analyser errors?
      */
     @Parameter(defaultValue = "true", property = "failon.analyser.errors")
-    private boolean failOnAnalyserErrors;
+    boolean failOnAnalyserErrors;
 
     /**
      * If enabled, warnings for maven plugin version or SDK API version are turned
@@ -75,6 +88,25 @@ public abstract class AbstractAnalyseMojo extends AbstractAemMojo {
     @Parameter(defaultValue = "false", property = "aem.analyser.strict.version")
     protected boolean strictVersionValidation;
 
+    /**
+     * Time in minutes for which the latest versions of the SDK, the add-ons and the plugin found
+     * in the remote repositories are cached in the local repository. Set to {@code 0} to disable
+     * the cache. Within a build, each version is only looked up once regardless of this setting.
+     * @since 1.7.3
+     */
+    @Parameter(defaultValue = "60", property = "aem.analyser.version.cache.ttl")
+    int versionCacheTtl;
+
+    /**
+     * If enabled, the parsed features, product aggregates, product indexes and measured task
+     * durations are kept in memory after the build. Later builds running in the same JVM, like
+     * with the Maven daemon or within an IDE, reuse them. The state kept for an SDK is dropped
+     * once a build uses a different SDK.
+     * @since 1.7.3
+     */
+    @Parameter(defaultValue = "false", property = "aem.analyser.retain.caches")
+    boolean retainCaches;
+
     /**
      * The maven session
      */
@@ -111,9 +143,11 @@ public abstract class AbstractAnalyseMojo extends AbstractAemMojo {
             return;
         }
 
-        final VersionUtil versionUtil = new VersionUtil(this.getLog(), this.project, artifactHandlerManager,
-                this.repoSystem, this.repoSession,
-                this.mavenSession.isOffline());
+        final VersionUtil versionUtil = this.createVersionUtil();
+
+        // look up all latest versions at once, the following calls use the results
+        versionUtil.prefetchLatestVersions(this.plugin.getGroupId(), this.plugin.getArtifactId(),
+            this.sdkArtifactId, this.sdkVersion, this.addons, this.useDependencyVersions);
 
         versionUtil.checkPluginVersion(this.plugin.getGroupId(), this.plugin.getArtifactId(), this.plugin.getVersion());
 
@@ -121,10 +155,14 @@ public abstract class AbstractAnalyseMojo extends AbstractAemMojo {
         final List<ArtifactId> addons = versionUtil.discoverAddons(this.addons, this.useDependencyVersions);
 
         // initialize the provider types analyser
-        if ( !ProviderTypeAnalyserTask.initializeProviderTypeInfo(sdkId, this.getOrResolveArtifact(sdkId).getFile()) ) {
+        final File apiInfoCacheDir = this.repoSession.getLocalRepository() != null
+            ? new File(this.repoSession.getLocalRepository().getBasedir(), Constants.API_INFO_CACHE_DIRECTORY) : null;
+        if ( !ProviderTypeAnalyserTask.initializeProviderTypeInfo(sdkId, this.getOrResolveArtifact(sdkId).getFile(), apiInfoCacheDir) ) {
             throw new MojoFailureException("Provider types not found in " + sdkId.toMvnId() + ". Please update to a more recent version of the API.");
         }
 
+        this.useRetainedCaches(sdkId);
+
         final AemAnalyserResult result = this.doExecute(sdkId, addons);
 
         // Fail build with errors, or depending on configuration with warnings
@@ -148,6 +186,35 @@ public abstract class AbstractAnalyseMojo extends AbstractAemMojo {
         }
     }
 
+    /**
+     * Create the version util, sharing the found versions with the other goals and modules of the build
+     * @return The version util
+     */
+    VersionUtil createVersionUtil() {
+        final VersionUtil versionUtil = new VersionUtil(this.getLog(), this.project, artifactHandlerManager,
+                this.repoSystem, this.repoSession,
+                this.mavenSession.isOffline());
+        versionUtil.setSessionVersions(this.getSessionCache(VERSION_CACHE_KEY));
+        if ( this.versionCacheTtl > 0 && this.repoSession.getLocalRepository() != null ) {
+            versionUtil.setVersionCache(new VersionCache(new File(this.repoSession.getLocalRepository().getBasedir(), Constants.VERSION_CACHE_FILE),
+                this.versionCacheTtl, TimeUnit.MINUTES));
+        }
+        return versionUtil;
+    }
+
+    /**
+     * Select the retained caches of the SDK used by this build
+     * @param sdkId The sdk id
+     */
+    void useRetainedCaches(final ArtifactId sdkId) {
+        // drop the state of the SDKs which have only been used by earlier builds in this JVM
+        for(final String unusedSdkId : RetainedCaches.use(sdkId.toMvnId(), this.getSessionCache(BUILD_CACHE_KEY))) {
+            getLog().debug("Dropping state of SDK " + unusedSdkId);
+            ProviderTypeAnalyserTask.removeProviderTypeInfo(unusedSdkId);
+        }
+        this.retainedCachesSdkId = this.retainCaches ? sdkId.toMvnId() : null;
+    }
+
     protected abstract AemAnalyserResult doExecute(final ArtifactId sdkId,
         final List<ArtifactId> addons)
         throws MojoExecutionException, MojoFailureException;
@@ -12,9 +12,12 @@
 package com.adobe.aem.analyser.mojos;
 
 import java.io.File;
+import java.io.FileReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -25,6 +28,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
@@ -36,21 +41,62 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.sling.feature.ArtifactId;
+import org.apache.sling.feature.Extension;
+import org.apache.sling.feature.ExtensionType;
 import org.apache.sling.feature.Feature;
 import org.apache.sling.feature.builder.ArtifactProvider;
 import org.apache.sling.feature.builder.FeatureProvider;
 import org.apache.sling.feature.cpconverter.ConverterException;
 import org.apache.sling.feature.io.artifacts.ArtifactManager;
 import org.apache.sling.feature.io.artifacts.ArtifactManagerConfig;
+import org.apache.sling.feature.io.json.FeatureJSONReader;
 
 import com.adobe.aem.analyser.AemAggregator;
 import com.adobe.aem.analyser.AemAnalyser;
 import com.adobe.aem.analyser.AemPackageConverter;
+import com.adobe.aem.analyser.AnalyserPhase;
+import com.adobe.aem.analyser.PhaseTimings;
+import com.adobe.aem.analyser.SdkProductVariation;
+import com.adobe.aem.analyser.TaskResultCache;
+import com.adobe.aem.analyser.impl.ProviderTypeAnalyserTask;
 import com.adobe.aem.analyser.result.AemAnalyserAnnotation;
 import com.adobe.aem.analyser.result.AemAnalyserResult;
 
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
 public class AemAnalyseMojo extends AbstractAnalyseMojo {
 
+    /**
+     * Key for the session cache of the product aggregates
+     */
+    private static final Object PRODUCT_AGGREGATE_CACHE_KEY = new Object();
+
+    /**
+     * Key for the session cache of the product indexes
+     */
+    private static final Object PRODUCT_INDEX_CACHE_KEY = new Object();
+
+    /**
+     * Key for the session cache of the measured task durations
+     */
+    private static final Object TASK_COST_CACHE_KEY = new Object();
+
+    /**
+     * Key for the session cache of the fingerprints of the stages run in this build
+     */
+    private static final Object STAGE_CACHE_KEY = new Object();
+
+    /**
+     * Key for the session cache of the aggregates handed over to the analyse goal
+     */
+    private static final Object AGGREGATES_CACHE_KEY = new Object();
+
+    /**
+     * Key for the session cache of the checksums of the content packages
+     */
+    private static final Object CHECKSUM_CACHE_KEY = new Object();
+
     /**
      * The analyser tasks run by the analyser on the final aggregates
      */
@@ -99,6 +145,43 @@ public class AemAnalyseMojo extends AbstractAnalyseMojo {
     @Parameter(defaultValue = "false", property = "aem.analyser.repoinit.validate")
     boolean repoInitValidation;
 
+    /**
+     * If enabled, the requirements of the product bundles in the final aggregates are not
+     * resolved and checked. User bundles are checked as in a full analysis, problems within
+     * the product itself are not reported.
+     * @since 1.7.3
+     */
+    @Parameter(defaultValue = "false", property = "aem.analyser.differential")
+    boolean differentialAnalysis;
+
+    /**
+     * The number of threads for running the analyser tasks of a feature. With more than one
+     * thread, the tasks which only read the configurations or bundles of a feature run
+     * concurrently, all other tasks one after the other. The reports are still in task order.
+     * @since 1.7.3
+     */
+    @Parameter(defaultValue = "1", property = "aem.analyser.task.threads")
+    int analyserTaskThreads;
+
+    /**
+     * If enabled, each aggregate is analysed right after it has been built and released
+     * afterwards, instead of building all aggregates before the analysis. This keeps the
+     * memory used independent of the number of run modes.
+     * @since 1.7.3
+     */
+    @Parameter(defaultValue = "false", property = "aem.analyser.streaming")
+    boolean streamingAnalysis;
+
+    /**
+     * If enabled, the analysis stops at the first error, or the first warning with strict validation.
+     * The cheapest analyser tasks and the smallest aggregates are analysed first, and no further
+     * work is started once a failure is found. Only the findings up to then are reported.
+     * This has no effect if the build does not fail on analyser errors.
+     * @since 1.7.3
+     */
+    @Parameter(defaultValue = "false", property = "aem.analyser.failfast")
+    boolean failFast;
+
     /**
      * Analyzes the given list of content package files.
      * If this is configured, only these files are validated (and potentially {@link #additionalContentPackageArtifacts}),
@@ -117,6 +200,15 @@ public class AemAnalyseMojo extends AbstractAnalyseMojo {
     @Parameter
     private List<String> additionalContentPackageArtifacts;
 
+    /**
+     * If enabled, a fingerprint of all inputs of the analysis is recorded together with the result.
+     * If a later build has the same inputs, the recorded result is reported without running
+     * conversion, aggregation and analysis again. Otherwise, the reports of the analyser tasks
+     * which only read the configurations or bundles of a feature are reused if these are unchanged.
+     */
+    @Parameter(defaultValue = "false", property = "aem.analyser.incremental")
+    boolean incremental;
+
     /**
      * Get the output directory for the content package converter
      * @return The directory
@@ -133,6 +225,38 @@ public class AemAnalyseMojo extends AbstractAnalyseMojo {
         return new File(getConversionOutputDir(), Constants.FM_DIRECTORY);
     }
 
+    /**
+     * The file for the incremental build state
+     * @return The file
+     */
+    private File getIncrementalStateFile() {
+        return new File(project.getBuild().getDirectory().concat(File.separator).concat(Constants.INCREMENTAL_STATE_FILE));
+    }
+
+    /**
+     * The file for the state of the content package conversion
+     * @return The file
+     */
+    private File getConversionStateFile() {
+        return new File(project.getBuild().getDirectory().concat(File.separator).concat(Constants.CONVERSION_STATE_FILE));
+    }
+
+    /**
+     * The file for the state of the aggregation
+     * @return The file
+     */
+    private File getAggregationStateFile() {
+        return new File(project.getBuild().getDirectory().concat(File.separator).concat(Constants.AGGREGATION_STATE_FILE));
+    }
+
+    /**
+     * The file for the cached reports of the analyser tasks
+     * @return The file
+     */
+    private File getTaskResultCacheFile() {
+        return new File(project.getBuild().getDirectory().concat(File.separator).concat(Constants.TASK_RESULT_CACHE_FILE));
+    }
+
     /**
      * Execute the plugin
      */
@@ -143,35 +267,257 @@ public class AemAnalyseMojo extends AbstractAnalyseMojo {
         final List<String> additionalWarnings = new ArrayList<>();
         final List<String> additionalErrors = new ArrayList<>();
 
+        final List<Artifact> contentPackages = this.getContentPackages();
+        // the state of each stage is only recorded if it might be reused
+        final IncrementalBuildState conversionState = this.isTrackingStages() ? this.getConversionState(contentPackages) : null;
+        final IncrementalBuildState aggregationState = conversionState != null ? this.getAggregationState(sdkId, addons, conversionState) : null;
+        final IncrementalBuildState state = aggregationState != null ? this.getIncrementalBuildState(aggregationState) : null;
+        if ( this.incremental ) {
+            final AemAnalyserResult previous = state.readResult();
+            if ( previous != null ) {
+                getLog().info("Inputs unchanged since last analysis, using recorded result.");
+                return previous;
+            }
+        }
+
+        final PhaseTimings timings = new PhaseTimings();
+
         // 1. Phase : convert content packages
-        this.convertContentPackages(additionalWarnings, additionalErrors);
+        try ( final PhaseTimings.Timer t = timings.start(AnalyserPhase.CONVERSION) ) {
+            this.convertContentPackages(contentPackages, conversionState, additionalWarnings, additionalErrors);
+        }
 
         try (ArtifactManager artifactManager = getArtifactManager()) {
             ArtifactProvider compositeArtifactProvider = getCompositeArtifactProvider(artifactManager);
+            if ( this.streamingAnalysis ) {
+                // 2. and 3. Phase : aggregate and analyse feature models one after the other
+                final AemAnalyserResult result = this.aggregateAndAnalyseFeatures(sdkId, addons, compositeArtifactProvider, artifactManager, timings, aggregationState);
+                return this.finishResult(result, timings, additionalWarnings, additionalErrors, state);
+            }
             // 2. Phase : aggregate feature models
-            final List<Feature> features = this.aggregateFeatureModels(sdkId, addons, compositeArtifactProvider);
+            final Map<String, String> aggregateKeys = new HashMap<>();
+            final List<Feature> features = this.aggregateFeatureModels(sdkId, addons, compositeArtifactProvider, timings, aggregateKeys, aggregationState);
+
+            // resolve all remaining artifacts upfront instead of one by one during the analysis
+            try ( final PhaseTimings.Timer t = timings.start(AnalyserPhase.ARTIFACT_PREFETCH) ) {
+                this.prefetchArtifacts(features, artifactManager);
+            }
 
             // 3. Phase : analyse features
-            final AemAnalyserResult result = this.analyseFeatures(features, compositeArtifactProvider);
-            additionalWarnings.stream().forEach(msg -> result.getWarnings().add(new AemAnalyserAnnotation(msg)));
-            additionalErrors.stream().forEach(msg -> result.getErrors().add(new AemAnalyserAnnotation(msg)));
-            return result;
+            final AemAnalyserResult result = this.analyseFeatures(sdkId, features, aggregateKeys, compositeArtifactProvider, timings);
+            return this.finishResult(result, timings, additionalWarnings, additionalErrors, state);
         } catch (IOException e) {
             throw new MojoExecutionException(e.getMessage(), e);
         }
     }
 
+    /**
+     * Log the timings, add the additional messages to the result and record it if a state is given
+     */
+    AemAnalyserResult finishResult(final AemAnalyserResult result, final PhaseTimings timings,
+            final List<String> additionalWarnings, final List<String> additionalErrors,
+            final IncrementalBuildState state) throws IOException {
+        this.logPhaseTimings(timings);
+        additionalWarnings.stream().forEach(msg -> result.getWarnings().add(new AemAnalyserAnnotation(msg)));
+        additionalErrors.stream().forEach(msg -> result.getErrors().add(new AemAnalyserAnnotation(msg)));
+        if ( state != null ) {
+            state.writeResult(result);
+        }
+        return result;
+    }
+
+    /**
+     * Create the incremental build state for the current inputs
+     * @param sdkId The sdk id
+     * @param addons The add-on ids
+     * @param contentPackages The content packages
+     * @return The state
+     * @throws MojoExecutionException If a content package can't be read
+     */
+    IncrementalBuildState getIncrementalBuildState(final ArtifactId sdkId,
+            final List<ArtifactId> addons,
+            final List<Artifact> contentPackages) throws MojoExecutionException {
+        return this.getIncrementalBuildState(this.getAggregationState(sdkId, addons, this.getConversionState(contentPackages)));
+    }
+
+    /**
+     * Create the incremental build state for the current inputs, based on the inputs of the aggregation
+     * @param aggregationState The state of the aggregation
+     * @return The state
+     */
+    private IncrementalBuildState getIncrementalBuildState(final IncrementalBuildState aggregationState) {
+        final IncrementalBuildState state = new IncrementalBuildState(getIncrementalStateFile());
+        state.add("aggregation", aggregationState.getFingerprint());
+        state.add("tasks", this.getAnalyserTasks());
+        state.add("userTasks", this.getAnalyserUserTasks());
+        state.add("taskConfigurations", new TreeMap<>(this.getAnalyserTaskConfigurations().entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, e -> new TreeMap<>(e.getValue())))));
+        state.add("repoInitValidation", this.repoInitValidation);
+        state.add("differentialAnalysis", this.differentialAnalysis);
+        // a fail-fast run records a partial result, only replay it if the run would stop at the same point
+        final boolean effectiveFailFast = this.failFast && this.failOnAnalyserErrors;
+        state.add("failFast", effectiveFailFast);
+        state.add("failFastOnWarnings", effectiveFailFast && this.strictValidation);
+        return state;
+    }
+
+    /**
+     * Create the state of the content package conversion for the current content packages
+     * @param contentPackages The content packages
+     * @return The state
+     * @throws MojoExecutionException If a content package can't be read
+     */
+    IncrementalBuildState getConversionState(final List<Artifact> contentPackages) throws MojoExecutionException {
+        final IncrementalBuildState state = new IncrementalBuildState(getConversionStateFile());
+        state.add("plugin", this.getPluginFingerprint());
+        // each goal of the build needs the checksums, include timestamp and size as the file might be rebuilt
+        final Map<String, String> checksums = this.getSessionCache(CHECKSUM_CACHE_KEY);
+        for(final Artifact contentPackage : contentPackages) {
+            final File source = contentPackage.getFile();
+            if (source == null) {
+                throw new MojoExecutionException("Content package " + contentPackage + " has no file attached");
+            }
+            try {
+                final String key = source.getAbsolutePath().concat("|").concat(Files.getLastModifiedTime(source.toPath()).toString())
+                    .concat("|").concat(String.valueOf(source.length()));
+                String checksum = checksums.get(key);
+                if ( checksum == null ) {
+                    checksum = IncrementalBuildState.getChecksum(source);
+                    checksums.put(key, checksum);
+                }
+                state.add(contentPackage.getId(), checksum);
+            } catch (final IOException e) {
+                throw new MojoExecutionException("Unable to read content package " + source, e);
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Create the state of the aggregation, based on the inputs of the conversion.
+     * The feature files of the SDK and the add-ons are included, as a snapshot might be updated.
+     * @param sdkId The sdk id
+     * @param addons The add-on ids
+     * @param conversionState The state of the conversion
+     * @return The state
+     */
+    IncrementalBuildState getAggregationState(final ArtifactId sdkId,
+            final List<ArtifactId> addons,
+            final IncrementalBuildState conversionState) {
+        final IncrementalBuildState state = new IncrementalBuildState(getAggregationStateFile());
+        state.add("conversion", conversionState.getFingerprint());
+        state.add("sdk", sdkId.toMvnId());
+        for(final SdkProductVariation variation : SdkProductVariation.values()) {
+            final ArtifactId featureId = sdkId.changeClassifier(variation.getSdkClassifier()).changeType(Constants.FEATUREMODEL_TYPE);
+            state.add(featureId.toMvnId(), this.getFeatureFingerprint(featureId));
+        }
+        for(final ArtifactId addon : addons) {
+            state.add("addon", addon.toMvnId());
+            final ArtifactId featureId = addon.changeType(Constants.FEATUREMODEL_TYPE);
+            state.add(featureId.toMvnId(), this.getFeatureFingerprint(featureId));
+        }
+        return state;
+    }
+
+    /**
+     * Get the fingerprint of a feature file
+     * @param id The feature id
+     * @return The fingerprint or {@code null} if the feature is not available
+     */
+    private String getFeatureFingerprint(final ArtifactId id) {
+        try {
+            return this.getFileFingerprint(id);
+        } catch (final RuntimeException e) {
+            // the aggregation reports a missing sdk feature, add-ons are optional
+            return null;
+        }
+    }
+
+    /**
+     * Get the fingerprint of this plugin, including its jar as a snapshot might be rebuilt
+     * @return The fingerprint or {@code null}
+     */
+    String getPluginFingerprint() {
+        if ( this.plugin == null ) {
+            return null;
+        }
+        final Artifact pluginArtifact = this.plugin.getPluginArtifact();
+        if ( pluginArtifact == null || pluginArtifact.getFile() == null ) {
+            return this.plugin.getId();
+        }
+        return this.plugin.getId().concat("|").concat(getFingerprint(pluginArtifact.getFile()));
+    }
+
+    /**
+     * Whether the state of the stages is recorded. This is the case for incremental builds
+     * and if a goal running a single stage has been executed for this project before.
+     * @return {@code true} if the state is recorded
+     */
+    boolean isTrackingStages() {
+        return this.incremental
+            || this.getSessionCache(STAGE_CACHE_KEY).containsKey(getConversionStateFile().getAbsolutePath());
+    }
+
+    /**
+     * Get the outputs of a stage if they can be reused. Outputs are reused if they have been
+     * recorded for the same inputs, either by an earlier goal of this build or, for incremental
+     * builds, by an earlier build.
+     * @param state The state of the stage
+     * @return The outputs or {@code null}
+     */
+    Map<String, String> getReusableOutputs(final IncrementalBuildState state) {
+        if ( !this.incremental && !state.getFingerprint().equals(this.getSessionCache(STAGE_CACHE_KEY).get(state.getFile().getAbsolutePath())) ) {
+            return null;
+        }
+        return state.readOutputs();
+    }
+
+    /**
+     * Record the outputs of a stage
+     * @param state The state of the stage
+     * @param outputs The outputs
+     */
+    void recordOutputs(final IncrementalBuildState state, final Map<String, String> outputs) {
+        try {
+            state.writeOutputs(outputs);
+            this.getSessionCache(STAGE_CACHE_KEY).put(state.getFile().getAbsolutePath(), state.getFingerprint());
+        } catch (final IOException e) {
+            // the state is an optimization only
+            getLog().debug("Unable to write state " + state.getFile() + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Convert the content packages, unless the feature models converted from the same
+     * content packages can be reused
+     * @param contentPackages The content packages
+     * @param conversionState The state of the conversion or {@code null} if it is not recorded
+     * @throws MojoExecutionException If anything goes wrong
+     */
+    void convertContentPackages(final List<Artifact> contentPackages, final IncrementalBuildState conversionState,
+            final List<String> additionalWarnings, final List<String> additionalErrors) throws MojoExecutionException {
+        if ( conversionState != null && this.getReusableOutputs(conversionState) != null && getGeneratedFeaturesDir().isDirectory() ) {
+            getLog().info("Content packages unchanged, using converted feature models from " + getGeneratedFeaturesDir());
+            return;
+        }
+        this.convertContentPackages(contentPackages, additionalWarnings, additionalErrors);
+        if ( conversionState != null ) {
+            this.recordOutputs(conversionState, Collections.singletonMap(Constants.CONVERTER_DIRECTORY, Constants.FM_DIRECTORY));
+        }
+    }
+
     /**
      * Convert the content packages
      * @throws MojoExecutionException If anything goes wrong
      */
-    void convertContentPackages(final List<String> additionalWarnings, final List<String> additionalErrors) throws MojoExecutionException {
+    void convertContentPackages(final List<Artifact> contentPackages,
+            final List<String> additionalWarnings, final List<String> additionalErrors) throws MojoExecutionException {
         final AemPackageConverter converter = new AemPackageConverter();
         converter.setConverterOutputDirectory(getConversionOutputDir());
         converter.setFeatureOutputDirectory(getGeneratedFeaturesDir());
 
         final Map<String, File> packages = new LinkedHashMap<>();
-        for(final Artifact contentPackage: getContentPackages()) {
+        for(final Artifact contentPackage: contentPackages) {
             final File source = contentPackage.getFile();
             if (source == null) {
                 throw new MojoExecutionException("Content package " + contentPackage + " has no file attached");
@@ -298,57 +644,334 @@ public class AemAnalyseMojo extends AbstractAnalyseMojo {
 
     /**
      * Aggregate the feature models
+     * @param aggregateKeys Map to which the keys of the aggregates are added
      * @return A list of feature models
      * @throws MojoExecutionException If anything goes wrong
      */
-    List<Feature> aggregateFeatureModels(final ArtifactId sdkId, final List<ArtifactId> addons, final ArtifactProvider artifactProvider) throws MojoExecutionException {
+    List<Feature> aggregateFeatureModels(final ArtifactId sdkId, final List<ArtifactId> addons, final ArtifactProvider artifactProvider,
+            final PhaseTimings timings, final Map<String, String> aggregateKeys) throws MojoExecutionException {
         try {
-            final AemAggregator a = new AemAggregator();
-            a.setFeatureOutputDirectory(getGeneratedFeaturesDir());
-            a.setArtifactProvider(artifactProvider);
-            a.setFeatureProvider(new FeatureProvider() {
-                @Override
-                public Feature provide(final ArtifactId id) {
-                    return getOrResolveFeature(id);
-                }
-            });
-            a.setProjectId(new ArtifactId(project.getGroupId(), project.getArtifactId(), project.getVersion(), null, null));
-            a.setSdkId(sdkId);
-            a.setAddOnIds(addons);
-            a.setEnableDuplicateBundleHandling(true);
-
-            return a.aggregate();
+            final AemAggregator a = this.createAggregator(sdkId, addons, artifactProvider, timings);
+            final List<Feature> features = a.aggregate();
+            aggregateKeys.putAll(a.getAggregateKeys());
+            return features;
 
         } catch (final IOException e) {
             throw new MojoExecutionException(e.getMessage(), e);
         }
     }
 
+    /**
+     * Aggregate the feature models, unless the aggregates of the same inputs can be reused
+     * @param aggregationState The state of the aggregation or {@code null} if it is not recorded
+     * @param aggregateKeys Map to which the keys of the aggregates are added
+     * @return A list of feature models
+     * @throws MojoExecutionException If anything goes wrong
+     */
+    List<Feature> aggregateFeatureModels(final ArtifactId sdkId, final List<ArtifactId> addons, final ArtifactProvider artifactProvider,
+            final PhaseTimings timings, final Map<String, String> aggregateKeys,
+            final IncrementalBuildState aggregationState) throws MojoExecutionException {
+        final Map<String, String> outputs = aggregationState != null ? this.getRecordedAggregates(aggregationState) : null;
+        if ( outputs != null ) {
+            final Map<String, Feature> handedOver = this.takeHandedOverAggregates(aggregationState);
+            final List<Feature> features = new ArrayList<>();
+            for(final Map.Entry<String, String> entry : outputs.entrySet()) {
+                final Feature feature = handedOver != null ? handedOver.get(entry.getKey()) : this.readAggregate(entry.getKey());
+                aggregateKeys.put(feature.getId().toMvnId(), entry.getValue());
+                features.add(feature);
+            }
+            return features;
+        }
+        final List<Feature> features = this.aggregateFeatureModels(sdkId, addons, artifactProvider, timings, aggregateKeys);
+        if ( aggregationState != null ) {
+            this.recordAggregates(aggregationState, features.stream().map(Feature::getId).collect(Collectors.toList()), aggregateKeys);
+        }
+        return features;
+    }
+
+    /**
+     * Get the recorded aggregates if they can be reused and all of them are available
+     * @param aggregationState The state of the aggregation
+     * @return The map from the classifiers of the aggregates to their keys or {@code null}
+     */
+    Map<String, String> getRecordedAggregates(final IncrementalBuildState aggregationState) {
+        final Map<String, String> outputs = this.getReusableOutputs(aggregationState);
+        if ( outputs == null || outputs.isEmpty() ) {
+            return null;
+        }
+        for(final String classifier : outputs.keySet()) {
+            if ( !new File(getGeneratedFeaturesDir(), classifier.concat(".json")).isFile() ) {
+                return null;
+            }
+        }
+        getLog().info("Aggregation inputs unchanged, using aggregates from " + getGeneratedFeaturesDir());
+        return outputs;
+    }
+
+    /**
+     * Record the aggregates of the aggregation
+     * @param aggregationState The state of the aggregation
+     * @param ids The ids of the aggregates, in the order of the analysis
+     * @param aggregateKeys The keys of the aggregates
+     */
+    void recordAggregates(final IncrementalBuildState aggregationState, final List<ArtifactId> ids,
+            final Map<String, String> aggregateKeys) {
+        final Map<String, String> outputs = new LinkedHashMap<>();
+        for(final ArtifactId id : ids) {
+            outputs.put(id.getClassifier(), aggregateKeys.getOrDefault(id.toMvnId(), id.toMvnId()));
+        }
+        this.recordOutputs(aggregationState, outputs);
+    }
+
+    /**
+     * Hand over the aggregates to a later analyse goal of this build, which then does not
+     * need to read them again.
+     * @param aggregationState The state of the aggregation
+     * @param features The aggregates
+     */
+    void handOverAggregates(final IncrementalBuildState aggregationState, final List<Feature> features) {
+        final Map<String, Feature> aggregates = new HashMap<>();
+        features.forEach(f -> aggregates.put(f.getId().getClassifier(), f));
+        this.<Map<String, Feature>>getSessionCache(AGGREGATES_CACHE_KEY).put(getHandOverKey(aggregationState), aggregates);
+    }
+
+    /**
+     * Take the aggregates handed over by the aggregate goal of this build
+     * @param aggregationState The state of the aggregation
+     * @return The map from the classifiers to the aggregates or {@code null}
+     */
+    private Map<String, Feature> takeHandedOverAggregates(final IncrementalBuildState aggregationState) {
+        return this.<Map<String, Feature>>getSessionCache(AGGREGATES_CACHE_KEY).remove(getHandOverKey(aggregationState));
+    }
+
+    private static String getHandOverKey(final IncrementalBuildState aggregationState) {
+        return aggregationState.getFile().getAbsolutePath().concat("|").concat(aggregationState.getFingerprint());
+    }
+
+    /**
+     * Read a recorded aggregate from the output directory
+     * @param classifier The classifier of the aggregate
+     * @return The aggregate
+     * @throws MojoExecutionException If the aggregate can't be read
+     */
+    private Feature readAggregate(final String classifier) throws MojoExecutionException {
+        final File file = new File(getGeneratedFeaturesDir(), classifier.concat(".json"));
+        try (final Reader reader = new FileReader(file)) {
+            return FeatureJSONReader.read(reader, file.getAbsolutePath());
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Unable to read aggregate " + file, e);
+        }
+    }
+
+    /**
+     * Create the aggregator for the feature models
+     * @return The aggregator
+     */
+    AemAggregator createAggregator(final ArtifactId sdkId, final List<ArtifactId> addons, final ArtifactProvider artifactProvider,
+            final PhaseTimings timings) {
+        final AemAggregator a = new AemAggregator();
+        a.setPhaseTimings(timings);
+        a.setFeatureOutputDirectory(getGeneratedFeaturesDir());
+        a.setArtifactProvider(artifactProvider);
+        a.setFeatureProvider(new FeatureProvider() {
+            @Override
+            public Feature provide(final ArtifactId id) {
+                return getOrResolveFeature(id);
+            }
+        });
+        a.setProjectId(new ArtifactId(project.getGroupId(), project.getArtifactId(), project.getVersion(), null, null));
+        a.setSdkId(sdkId);
+        a.setAddOnIds(addons);
+        a.setEnableDuplicateBundleHandling(true);
+        // share the product aggregates with the other modules of the build, and later builds if retained
+        a.setProductAggregateCache(this.getRetainedCache(PRODUCT_AGGREGATE_CACHE_KEY));
+        // a SNAPSHOT or re-installed SDK or add-on keeps its id, but not its file
+        a.setFeatureFingerprints(this::getFileFingerprint);
+        return a;
+    }
+
+    /**
+     * Aggregate the feature models and analyse each aggregate right after it has been built
+     *
+     * @param sdkId The sdk id
+     * @param addons The add-on ids
+     * @param artifactProvider The artifact provider
+     * @param artifactManager The artifact manager providing the converted artifacts
+     * @param timings The phase timings
+     * @param aggregationState The state of the aggregation or {@code null} if it is not recorded
+     * @return The result
+     * @throws MojoExecutionException If something goes wrong
+     */
+    AemAnalyserResult aggregateAndAnalyseFeatures(final ArtifactId sdkId,
+            final List<ArtifactId> addons,
+            final ArtifactProvider artifactProvider,
+            final ArtifactManager artifactManager,
+            final PhaseTimings timings,
+            final IncrementalBuildState aggregationState) throws MojoExecutionException {
+        try {
+            final Map<String, String> outputs = aggregationState != null ? this.getRecordedAggregates(aggregationState) : null;
+            final AemAggregator aggregator = outputs == null ? this.createAggregator(sdkId, addons, artifactProvider, timings) : null;
+            final Map<String, String> aggregateKeys = aggregator != null ? aggregator.getAggregateKeys() : new HashMap<>();
+            final AemAnalyser analyser = this.createAnalyser(sdkId, aggregateKeys, artifactProvider, timings);
+            final AemAnalyserResult result;
+            try ( final AemAnalyser.Analysis analysis = analyser.startAnalysis() ) {
+                final AemAggregator.AggregateConsumer consumer = feature -> {
+                    try ( final PhaseTimings.Timer t = timings.start(AnalyserPhase.ARTIFACT_PREFETCH) ) {
+                        this.prefetchArtifacts(Collections.singletonList(feature), artifactManager);
+                    }
+                    analysis.analyse(feature);
+                    return !analysis.isFailed();
+                };
+                if ( aggregator == null ) {
+                    // the recorded aggregates are read one after the other
+                    final Map<String, Feature> handedOver = this.takeHandedOverAggregates(aggregationState);
+                    for(final Map.Entry<String, String> entry : outputs.entrySet()) {
+                        final Feature feature = handedOver != null ? handedOver.get(entry.getKey()) : this.readAggregate(entry.getKey());
+                        aggregateKeys.put(feature.getId().toMvnId(), entry.getValue());
+                        if ( !consumer.accept(feature) ) {
+                            break;
+                        }
+                    }
+                } else {
+                    final List<ArtifactId> ids = new ArrayList<>();
+                    aggregator.aggregate(feature -> {
+                        ids.add(feature.getId());
+                        return consumer.accept(feature);
+                    });
+                    if ( aggregationState != null && !analysis.isFailed() ) {
+                        this.recordAggregates(aggregationState, ids, aggregateKeys);
+                    }
+                }
+                result = analysis.finish();
+            }
+            this.writeTaskResultCache(analyser);
+            return result;
+        } catch ( final Exception e) {
+            throw new MojoExecutionException("A fatal error occurred while analysing the features, see error cause:",
+                    e);
+        }
+    }
+
+    /**
+     * Resolve the artifacts of the features which are neither provided by the artifact manager
+     * nor described by the analyser metadata of the feature, so the analysis runs against local files.
+     * @param features The features
+     * @param artifactManager The artifact manager providing the converted artifacts
+     */
+    void prefetchArtifacts(final List<Feature> features, final ArtifactManager artifactManager) {
+        final Set<ArtifactId> ids = new LinkedHashSet<>();
+        for(final Feature feature : features) {
+            final Extension metadata = feature.getExtensions().getByName(Constants.ANALYSER_METADATA_EXTENSION);
+            final JsonObject metadataObject = metadata != null && metadata.getType() == ExtensionType.JSON
+                ? metadata.getJSONStructure().asJsonObject() : null;
+            for(final org.apache.sling.feature.Artifact bundle : feature.getBundles()) {
+                // bundles with a recorded manifest are not read by the scanner
+                final JsonValue bundleMetadata = metadataObject != null ? metadataObject.get(bundle.getId().toMvnId()) : null;
+                if ( bundleMetadata == null || bundleMetadata.getValueType() != JsonValue.ValueType.OBJECT
+                     || !bundleMetadata.asJsonObject().containsKey("manifest") ) {
+                    ids.add(bundle.getId());
+                }
+            }
+            for(final Extension ext : feature.getExtensions()) {
+                if ( ext.getType() == ExtensionType.ARTIFACTS ) {
+                    ext.getArtifacts().forEach(a -> ids.add(a.getId()));
+                }
+            }
+        }
+        ids.removeIf(id -> artifactManager.provide(id) != null);
+        final int count = this.resolveArtifacts(ids);
+        getLog().debug("Prefetched " + count + " of " + ids.size() + " artifacts");
+    }
+
     /**
      * Analyse the features
      *
+     * @param sdkId The sdk id
      * @param features The features
+     * @param aggregateKeys The keys of the aggregates
      * @param artifactProvider The artifact provider
+     * @param timings The phase timings
      * @throws MojoFailureException If the analysis fails
      * @throws MojoExecutionException If something goes wrong
      */
-    AemAnalyserResult analyseFeatures(final List<Feature> features,
-            final ArtifactProvider artifactProvider) throws MojoFailureException, MojoExecutionException {
+    AemAnalyserResult analyseFeatures(final ArtifactId sdkId,
+            final List<Feature> features,
+            final Map<String, String> aggregateKeys,
+            final ArtifactProvider artifactProvider,
+            final PhaseTimings timings) throws MojoFailureException, MojoExecutionException {
         try {
-            final AemAnalyser analyser = new AemAnalyser();
-            analyser.setArtifactProvider(artifactProvider);
-            analyser.setIncludedTasks(this.getAnalyserTasks());
-            analyser.setIncludedUserTasks(this.getAnalyserUserTasks());
-            analyser.setTaskConfigurations(this.getAnalyserTaskConfigurations());
-
-            analyser.setRepoInitExecutionValidationEnabled(this.repoInitValidation);
-            return analyser.analyse(features);            
+            final AemAnalyser analyser = this.createAnalyser(sdkId, aggregateKeys, artifactProvider, timings);
+            final AemAnalyserResult result = analyser.analyse(features);
+            this.writeTaskResultCache(analyser);
+            return result;
         } catch ( final Exception e) {
             throw new MojoExecutionException("A fatal error occurred while analysing the features, see error cause:",
                     e);
         }
     }
 
+    /**
+     * Create the analyser for the features
+     * @return The analyser
+     */
+    private AemAnalyser createAnalyser(final ArtifactId sdkId,
+            final Map<String, String> aggregateKeys,
+            final ArtifactProvider artifactProvider,
+            final PhaseTimings timings) {
+        final AemAnalyser analyser = new AemAnalyser();
+        analyser.setPhaseTimings(timings);
+        analyser.setArtifactProvider(artifactProvider);
+        analyser.setIncludedTasks(this.getAnalyserTasks());
+        analyser.setIncludedUserTasks(this.getAnalyserUserTasks());
+        final Map<String, Map<String, String>> taskConfigurations = this.getAnalyserTaskConfigurations();
+        // other modules of a parallel build might use a different SDK
+        taskConfigurations.computeIfAbsent(ProviderTypeAnalyserTask.ID, key -> new HashMap<>())
+            .putIfAbsent(ProviderTypeAnalyserTask.CFG_SDK, sdkId.toMvnId());
+        analyser.setTaskConfigurations(taskConfigurations);
+
+        analyser.setRepoInitExecutionValidationEnabled(this.repoInitValidation);
+        analyser.setAggregateKeys(aggregateKeys);
+        analyser.setDifferentialAnalysis(this.differentialAnalysis);
+        analyser.setTaskThreads(this.analyserTaskThreads);
+        analyser.setFailFast(this.failFast && this.failOnAnalyserErrors);
+        analyser.setFailFastOnWarnings(this.strictValidation);
+        // share the measured task durations with the other modules of the build, and later builds if retained
+        analyser.setTaskCosts(this.getRetainedCache(TASK_COST_CACHE_KEY));
+        // share the product indexes with the other modules of the build, and later builds if retained
+        analyser.setProductIndexCache(this.getRetainedCache(PRODUCT_INDEX_CACHE_KEY));
+        analyser.setTaskResultCache(this.incremental
+            ? new TaskResultCache(getTaskResultCacheFile(), this.getPluginFingerprint()) : null);
+        return analyser;
+    }
+
+    /**
+     * Write the cached reports of the analyser tasks, if enabled
+     */
+    private void writeTaskResultCache(final AemAnalyser analyser) {
+        if ( analyser.getTaskResultCache() != null ) {
+            try {
+                analyser.getTaskResultCache().write();
+            } catch (final IOException e) {
+                // the cache is an optimization only
+                getLog().debug("Unable to write task result cache : " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Log the time spent in the different phases
+     * @param timings The phase timings
+     */
+    void logPhaseTimings(final PhaseTimings timings) {
+        long total = 0;
+        getLog().info("Analyser phase timings:");
+        for(final Map.Entry<AnalyserPhase, Long> entry : timings.getDurations().entrySet()) {
+            getLog().info("  " + entry.getKey().getLabel() + " : " + TimeUnit.NANOSECONDS.toMillis(entry.getValue()) + " ms");
+            total += entry.getValue();
+        }
+        getLog().info("  Total : " + TimeUnit.NANOSECONDS.toMillis(total) + " ms");
+    }
+
     /**
      * Get the composite artifact provider of a default artifact manager and a custom provider which is able to resolve the project attached artifacts
      * @return the composite provider
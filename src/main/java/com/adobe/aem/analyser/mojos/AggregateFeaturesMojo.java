@@ -0,0 +1,138 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser.mojos;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.sling.feature.ArtifactId;
+import org.apache.sling.feature.Feature;
+import org.apache.sling.feature.builder.ArtifactProvider;
+import org.apache.sling.feature.io.artifacts.ArtifactManager;
+
+import com.adobe.aem.analyser.AemAggregator;
+import com.adobe.aem.analyser.AnalyserPhase;
+import com.adobe.aem.analyser.PhaseTimings;
+import com.adobe.aem.analyser.result.AemAnalyserResult;
+
+/**
+ * Aggregates the converted feature models with the product features. The content
+ * packages are converted first, unless the converted feature models can be reused.
+ * The aggregates are reused by the analyse goal of the build, as long as the
+ * content packages, the SDK and the add-ons are unchanged. Outdated versions are
+ * not reported by this goal, the analyse goal reports them.
+ * @since 1.7.3
+ */
+@Mojo(name = "aggregate-features",
+    defaultPhase = LifecyclePhase.PROCESS_RESOURCES,
+    requiresDependencyResolution = ResolutionScope.COMPILE,
+    threadSafe = true)
+public class AggregateFeaturesMojo extends AemAnalyseMojo {
+
+    @Override
+    boolean isTrackingStages() {
+        return true;
+    }
+
+    /**
+     * Look up the SDK and the add-ons and execute the conversion and aggregation. Unlike
+     * the analyse goal, the plugin version is not checked and version warnings are neither
+     * reported nor fail the build. The provider types are not needed for the aggregation.
+     */
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (this.skipRun()) {
+            return;
+        }
+        // the found versions are shared with the analyse goal through the session
+        final VersionUtil versionUtil = this.createVersionUtil();
+        final ArtifactId sdkId = versionUtil.getSDKArtifactId(this.sdkArtifactId, this.sdkVersion, this.useDependencyVersions);
+        final List<ArtifactId> addons = versionUtil.discoverAddons(this.addons, this.useDependencyVersions);
+        this.useRetainedCaches(sdkId);
+
+        final AemAnalyserResult result = this.doExecute(sdkId, addons);
+        this.printResult(result);
+        if ( result.hasErrors() && this.failOnAnalyserErrors ) {
+            throw new MojoFailureException("Aggregation of the feature models failed, please read the plugin log for more details");
+        }
+    }
+
+    /**
+     * Execute the conversion and aggregation
+     */
+    @Override
+    public AemAnalyserResult doExecute(final ArtifactId sdkId,
+        final List<ArtifactId> addons)
+    throws MojoExecutionException, MojoFailureException {
+        final List<String> additionalWarnings = new ArrayList<>();
+        final List<String> additionalErrors = new ArrayList<>();
+
+        final List<Artifact> contentPackages = this.getContentPackages();
+        final IncrementalBuildState conversionState = this.getConversionState(contentPackages);
+        final IncrementalBuildState aggregationState = this.getAggregationState(sdkId, addons, conversionState);
+
+        final PhaseTimings timings = new PhaseTimings();
+
+        // 1. Phase : convert content packages
+        try ( final PhaseTimings.Timer t = timings.start(AnalyserPhase.CONVERSION) ) {
+            this.convertContentPackages(contentPackages, conversionState, additionalWarnings, additionalErrors);
+        }
+
+        // 2. Phase : aggregate feature models
+        try (ArtifactManager artifactManager = getArtifactManager()) {
+            if ( this.getRecordedAggregates(aggregationState) == null ) {
+                final ArtifactProvider compositeArtifactProvider = getCompositeArtifactProvider(artifactManager);
+                if ( this.streamingAnalysis ) {
+                    this.streamFeatureModels(sdkId, addons, compositeArtifactProvider, timings, aggregationState);
+                } else {
+                    final Map<String, String> aggregateKeys = new HashMap<>();
+                    final List<Feature> features = this.aggregateFeatureModels(sdkId, addons, compositeArtifactProvider, timings, aggregateKeys);
+                    this.recordAggregates(aggregationState, features.stream().map(Feature::getId).collect(Collectors.toList()), aggregateKeys);
+                    this.handOverAggregates(aggregationState, features);
+                }
+            }
+            return this.finishResult(new AemAnalyserResult(), timings, additionalWarnings, additionalErrors, null);
+        } catch (final IOException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Aggregate the feature models one after the other without keeping them, the analyse
+     * goal reads them again one after the other.
+     */
+    private void streamFeatureModels(final ArtifactId sdkId, final List<ArtifactId> addons,
+            final ArtifactProvider artifactProvider, final PhaseTimings timings,
+            final IncrementalBuildState aggregationState) throws MojoExecutionException {
+        try {
+            final AemAggregator aggregator = this.createAggregator(sdkId, addons, artifactProvider, timings);
+            final List<ArtifactId> ids = new ArrayList<>();
+            aggregator.aggregate(feature -> {
+                ids.add(feature.getId());
+                return true;
+            });
+            this.recordAggregates(aggregationState, ids, aggregator.getAggregateKeys());
+        } catch (final Exception e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+    }
+}
@@ -17,7 +17,8 @@ import org.apache.maven.plugins.annotations.ResolutionScope;
 
 @Mojo(name = "analyse", 
     defaultPhase = LifecyclePhase.TEST,
-    requiresDependencyResolution = ResolutionScope.COMPILE)
+    requiresDependencyResolution = ResolutionScope.COMPILE,
+    threadSafe = true)
 public class AnalyseMojo extends AemAnalyseMojo {
     // Subclassed to be used for the aem-analyse packaging
 
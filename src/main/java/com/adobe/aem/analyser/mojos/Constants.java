@@ -33,4 +33,28 @@ public abstract class Constants extends com.adobe.aem.analyser.Constants {
 
     /** The directory for the feature model */
     public static final String FM_DIRECTORY = "fm.out";
+
+    /** The file for the incremental build state, holding the result of the analysis */
+    public static final String INCREMENTAL_STATE_FILE = "aem-analyser-state.json";
+
+    /** The file for the state of the content package conversion */
+    public static final String CONVERSION_STATE_FILE = "aem-analyser-conversion.json";
+
+    /** The file for the state of the aggregation, holding the names and keys of the aggregates */
+    public static final String AGGREGATION_STATE_FILE = "aem-analyser-aggregation.json";
+
+    /** The file for the cached reports of the analyser tasks */
+    public static final String TASK_RESULT_CACHE_FILE = "aem-analyser-task-cache.json";
+
+    /** The file for the version cache, relative to the local repository */
+    public static final String VERSION_CACHE_FILE = ".cache/aemanalyser-maven-plugin/versions.properties";
+
+    /** The directory for the API metadata cache, relative to the local repository */
+    public static final String API_INFO_CACHE_DIRECTORY = ".cache/aemanalyser-maven-plugin/api-info";
+
+    /** The type of feature model artifacts */
+    public static final String FEATUREMODEL_TYPE = "slingosgifeature";
+
+    /** The name of the extension holding the analyser metadata of a feature */
+    public static final String ANALYSER_METADATA_EXTENSION = "analyser-metadata";
 }
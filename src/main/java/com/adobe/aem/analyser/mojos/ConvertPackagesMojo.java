@@ -0,0 +1,69 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser.mojos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+import com.adobe.aem.analyser.AnalyserPhase;
+import com.adobe.aem.analyser.PhaseTimings;
+
+/**
+ * Converts the content packages into feature models. The converted feature models
+ * are reused by the later goals of the build, as long as the content packages
+ * are unchanged.
+ * @since 1.7.3
+ */
+@Mojo(name = "convert-packages",
+    defaultPhase = LifecyclePhase.GENERATE_RESOURCES,
+    requiresDependencyResolution = ResolutionScope.COMPILE,
+    threadSafe = true)
+public class ConvertPackagesMojo extends AemAnalyseMojo {
+
+    @Override
+    boolean isTrackingStages() {
+        return true;
+    }
+
+    /**
+     * Execute the conversion. The conversion does not depend on the SDK, therefore
+     * no versions are looked up.
+     */
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (this.skipRun()) {
+            return;
+        }
+        final List<String> additionalWarnings = new ArrayList<>();
+        final List<String> additionalErrors = new ArrayList<>();
+
+        final List<Artifact> contentPackages = this.getContentPackages();
+        final PhaseTimings timings = new PhaseTimings();
+        try ( final PhaseTimings.Timer t = timings.start(AnalyserPhase.CONVERSION) ) {
+            this.convertContentPackages(contentPackages, this.getConversionState(contentPackages), additionalWarnings, additionalErrors);
+        }
+        this.logPhaseTimings(timings);
+
+        additionalWarnings.forEach(getLog()::warn);
+        additionalErrors.forEach(getLog()::error);
+        if ( !additionalErrors.isEmpty() && this.failOnAnalyserErrors ) {
+            throw new MojoFailureException("Conversion of the content packages failed, please read the plugin log for more details");
+        }
+    }
+}
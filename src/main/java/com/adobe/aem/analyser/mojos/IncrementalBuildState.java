@@ -0,0 +1,275 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser.mojos;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.adobe.aem.analyser.result.AemAnalyserAnnotation;
+import com.adobe.aem.analyser.result.AemAnalyserResult;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonException;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import jakarta.json.JsonWriter;
+
+/**
+ * Records a fingerprint of all inputs of an analyser run together with the result
+ * of that run. If the fingerprint of a later run matches, the stored result can be
+ * used instead of running conversion, aggregation and analysis again.
+ * <p>
+ * The same format is used for the single stages of the analysis, which record the
+ * names of their outputs instead of a result.
+ */
+class IncrementalBuildState {
+
+    /** Version of the file format, incremented on incompatible changes */
+    private static final String FORMAT_VERSION = "1";
+
+    private static final String KEY_FORMAT = "format";
+
+    private static final String KEY_FINGERPRINT = "fingerprint";
+
+    private static final String KEY_ERRORS = "errors";
+
+    private static final String KEY_WARNINGS = "warnings";
+
+    private static final String KEY_OUTPUTS = "outputs";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final File file;
+
+    private final MessageDigest digest;
+
+    /**
+     * Create a new state
+     * @param file The file to store the state in
+     */
+    IncrementalBuildState(final File file) {
+        this.file = file;
+        this.digest = createDigest();
+    }
+
+    /**
+     * Get the file the state is stored in
+     * @return The file
+     */
+    File getFile() {
+        return this.file;
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            // SHA-256 is required to be supported by every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Add an input value to the fingerprint
+     * @param key The key of the input
+     * @param value The value, might be {@code null}
+     * @return This state
+     */
+    IncrementalBuildState add(final String key, final Object value) {
+        this.digest.update(key.getBytes(StandardCharsets.UTF_8));
+        this.digest.update((byte) 0);
+        this.digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        this.digest.update((byte) '\n');
+        return this;
+    }
+
+    /**
+     * Add the checksum of a file to the fingerprint
+     * @param key The key of the input
+     * @param input The file
+     * @return This state
+     * @throws IOException If the file can't be read
+     */
+    IncrementalBuildState addFile(final String key, final File input) throws IOException {
+        return this.add(key, getChecksum(input));
+    }
+
+    /**
+     * Calculate the checksum of a file
+     * @param input The file
+     * @return The checksum
+     * @throws IOException If the file can't be read
+     */
+    static String getChecksum(final File input) throws IOException {
+        final MessageDigest fileDigest = createDigest();
+        final byte[] buffer = new byte[65536];
+        try (final InputStream is = Files.newInputStream(input.toPath())) {
+            int len;
+            while ( (len = is.read(buffer)) != -1 ) {
+                fileDigest.update(buffer, 0, len);
+            }
+        }
+        return toHex(fileDigest.digest());
+    }
+
+    /**
+     * Get the fingerprint of all inputs added so far.
+     * @return The fingerprint
+     */
+    String getFingerprint() {
+        try {
+            return toHex(((MessageDigest) this.digest.clone()).digest());
+        } catch (final CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Read the stored result if it has been recorded for the same fingerprint
+     * @return The stored result or {@code null}
+     */
+    AemAnalyserResult readResult() {
+        final JsonObject obj = this.readState();
+        if ( obj == null ) {
+            return null;
+        }
+        try {
+            final AemAnalyserResult result = new AemAnalyserResult();
+            readAnnotations(obj.getJsonArray(KEY_ERRORS), result.getErrors());
+            readAnnotations(obj.getJsonArray(KEY_WARNINGS), result.getWarnings());
+            return result;
+        } catch (final ClassCastException e) {
+            // a corrupt state is treated like a missing one
+            return null;
+        }
+    }
+
+    /**
+     * Store the result together with the fingerprint
+     * @param result The result
+     * @throws IOException If writing fails
+     */
+    void writeResult(final AemAnalyserResult result) throws IOException {
+        this.writeState(Json.createObjectBuilder()
+            .add(KEY_ERRORS, writeAnnotations(result.getErrors()))
+            .add(KEY_WARNINGS, writeAnnotations(result.getWarnings())));
+    }
+
+    /**
+     * Read the stored outputs if they have been recorded for the same fingerprint
+     * @return The outputs in the recorded order or {@code null}
+     */
+    Map<String, String> readOutputs() {
+        final JsonObject obj = this.readState();
+        if ( obj == null ) {
+            return null;
+        }
+        try {
+            final Map<String, String> outputs = new LinkedHashMap<>();
+            final JsonObject values = obj.getJsonObject(KEY_OUTPUTS);
+            if ( values == null ) {
+                return null;
+            }
+            for(final Map.Entry<String, JsonValue> entry : values.entrySet()) {
+                outputs.put(entry.getKey(), ((JsonString) entry.getValue()).getString());
+            }
+            return outputs;
+        } catch (final ClassCastException e) {
+            // a corrupt state is treated like a missing one
+            return null;
+        }
+    }
+
+    /**
+     * Store the outputs together with the fingerprint
+     * @param outputs The outputs, mapping the name of an output to a value
+     * @throws IOException If writing fails
+     */
+    void writeOutputs(final Map<String, String> outputs) throws IOException {
+        final JsonObjectBuilder values = Json.createObjectBuilder();
+        for(final Map.Entry<String, String> entry : outputs.entrySet()) {
+            values.add(entry.getKey(), entry.getValue());
+        }
+        this.writeState(Json.createObjectBuilder().add(KEY_OUTPUTS, values));
+    }
+
+    private JsonObject readState() {
+        if ( !this.file.isFile() ) {
+            return null;
+        }
+        try (final Reader reader = Files.newBufferedReader(this.file.toPath(), StandardCharsets.UTF_8);
+             final JsonReader jsonReader = Json.createReader(reader)) {
+            final JsonObject obj = jsonReader.readObject();
+            if ( !FORMAT_VERSION.equals(obj.getString(KEY_FORMAT, null))
+                 || !this.getFingerprint().equals(obj.getString(KEY_FINGERPRINT, null)) ) {
+                return null;
+            }
+            return obj;
+        } catch (final IOException | JsonException | ClassCastException e) {
+            // a corrupt state is treated like a missing one
+            return null;
+        }
+    }
+
+    private void writeState(final JsonObjectBuilder builder) throws IOException {
+        final JsonObject obj = Json.createObjectBuilder()
+            .add(KEY_FORMAT, FORMAT_VERSION)
+            .add(KEY_FINGERPRINT, this.getFingerprint())
+            .addAll(builder)
+            .build();
+        this.file.getParentFile().mkdirs();
+        try (final Writer writer = Files.newBufferedWriter(this.file.toPath(), StandardCharsets.UTF_8);
+             final JsonWriter jsonWriter = Json.createWriter(writer)) {
+            jsonWriter.writeObject(obj);
+        }
+    }
+
+    private static void readAnnotations(final JsonArray array, final List<AemAnalyserAnnotation> annotations) {
+        if ( array != null ) {
+            for(final JsonValue v : array) {
+                annotations.add(new AemAnalyserAnnotation(((JsonString) v).getString()));
+            }
+        }
+    }
+
+    private static JsonArrayBuilder writeAnnotations(final List<AemAnalyserAnnotation> annotations) {
+        final JsonArrayBuilder builder = Json.createArrayBuilder();
+        for(final AemAnalyserAnnotation ann : annotations) {
+            builder.add(ann.getMessage());
+        }
+        return builder;
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final char[] chars = new char[bytes.length * 2];
+        for(int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0x0F];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0x0F];
+        }
+        return new String(chars);
+    }
+}
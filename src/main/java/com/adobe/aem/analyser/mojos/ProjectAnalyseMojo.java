@@ -17,7 +17,8 @@ import org.apache.maven.plugins.annotations.ResolutionScope;
 
 @Mojo(name = "project-analyse", 
     defaultPhase = LifecyclePhase.VERIFY, 
-    requiresDependencyResolution = ResolutionScope.COMPILE)
+    requiresDependencyResolution = ResolutionScope.COMPILE,
+    threadSafe = true)
 public class ProjectAnalyseMojo extends AemAnalyseMojo {
     // Subclassed to be used inside a content package project
 }
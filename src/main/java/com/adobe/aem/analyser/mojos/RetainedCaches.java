@@ -0,0 +1,99 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser.mojos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches which are kept in the JVM across builds. If several builds run in the same JVM,
+ * like with the Maven daemon or within an IDE, a later build finds the features, product
+ * aggregates and product indexes of the earlier builds.
+ * <p>
+ * The caches are bound to an SDK. Once a build uses an SDK, the caches of all SDKs used
+ * by earlier builds only are dropped, so a JVM keeps only the state of the SDKs in use.
+ */
+final class RetainedCaches {
+
+    /**
+     * The caches of a single SDK
+     */
+    private static final class SdkCaches {
+
+        final Map<Object, Map<String, ?>> caches = new ConcurrentHashMap<>();
+
+        /** The build which used the SDK last */
+        Object build;
+    }
+
+    private static final Map<String, SdkCaches> CACHES = new HashMap<>();
+
+    private RetainedCaches() {
+        // no instances
+    }
+
+    /**
+     * Register the use of an SDK by a build. The caches of all SDKs which are not used
+     * by this build are dropped.
+     * @param sdkId The mvn id of the SDK
+     * @param build An object identifying the build, like a cache of the session
+     * @return The mvn ids of the dropped SDKs
+     */
+    static synchronized List<String> use(final String sdkId, final Object build) {
+        final List<String> dropped = new ArrayList<>();
+        CACHES.computeIfAbsent(sdkId, id -> new SdkCaches()).build = build;
+        for(final Iterator<Map.Entry<String, SdkCaches>> iter = CACHES.entrySet().iterator(); iter.hasNext();) {
+            final Map.Entry<String, SdkCaches> entry = iter.next();
+            if ( entry.getValue().build != build ) {
+                dropped.add(entry.getKey());
+                iter.remove();
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Get a cache of an SDK
+     * @param <T> The type of the cached values
+     * @param sdkId The mvn id of the SDK
+     * @param key The key of the cache
+     * @return The cache
+     */
+    @SuppressWarnings("unchecked")
+    static synchronized <T> Map<String, T> getCache(final String sdkId, final Object key) {
+        final SdkCaches sdk = CACHES.computeIfAbsent(sdkId, id -> new SdkCaches());
+        return (Map<String, T>) sdk.caches.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Get the SDKs for which state is kept
+     * @return The mvn ids of the SDKs
+     */
+    // visible for testing
+    static synchronized Set<String> getSdkIds() {
+        return new TreeSet<>(CACHES.keySet());
+    }
+
+    /**
+     * Drop all caches
+     */
+    // visible for testing
+    static synchronized void clear() {
+        CACHES.clear();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser.mojos;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Disk cache for the latest versions found in the remote repositories. Entries
+ * expire after the configured time to live. The cache is shared between builds,
+ * therefore the file is re-read before each update and replaced atomically.
+ */
+class VersionCache {
+
+    /** Lock for updates from parallel builds within the same JVM */
+    private static final Object LOCK = new Object();
+
+    private final File file;
+
+    private final long ttlMillis;
+
+    private Properties entries;
+
+    /**
+     * Create a new cache
+     * @param file The cache file
+     * @param ttl The time to live of an entry
+     * @param unit The unit of the time to live
+     */
+    VersionCache(final File file, final long ttl, final TimeUnit unit) {
+        this.file = file;
+        this.ttlMillis = unit.toMillis(ttl);
+    }
+
+    /**
+     * Get the cached version
+     * @param key The key
+     * @return The version or {@code null} if there is no entry or the entry is expired
+     */
+    String get(final String key) {
+        synchronized ( LOCK ) {
+            if ( this.entries == null ) {
+                this.entries = this.read();
+            }
+            final String value = this.entries.getProperty(key);
+            if ( value != null ) {
+                final int pos = value.indexOf(':');
+                if ( pos > 0 ) {
+                    try {
+                        final long timestamp = Long.parseLong(value.substring(0, pos));
+                        if ( System.currentTimeMillis() - timestamp < this.ttlMillis ) {
+                            return value.substring(pos + 1);
+                        }
+                    } catch (final NumberFormatException ignore) {
+                        // treat like a missing entry
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Store a version in the cache
+     * @param key The key
+     * @param version The version
+     * @throws IOException If writing the cache fails
+     */
+    void put(final String key, final String version) throws IOException {
+        synchronized ( LOCK ) {
+            // merge with entries written by other builds in the meantime
+            this.entries = this.read();
+            this.entries.setProperty(key, String.valueOf(System.currentTimeMillis()).concat(":").concat(version));
+
+            final Path dir = this.file.getParentFile().toPath();
+            Files.createDirectories(dir);
+            final Path tmp = Files.createTempFile(dir, this.file.getName(), ".tmp");
+            try {
+                try (final Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                    this.entries.store(writer, null);
+                }
+                try {
+                    Files.move(tmp, this.file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (final AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        }
+    }
+
+    private Properties read() {
+        final Properties props = new Properties();
+        if ( this.file.isFile() ) {
+            try (final Reader reader = Files.newBufferedReader(this.file.toPath(), StandardCharsets.UTF_8)) {
+                props.load(reader);
+            } catch (final IOException | IllegalArgumentException e) {
+                // a corrupt cache is treated like an empty one
+                props.clear();
+            }
+        }
+        return props;
+    }
+}
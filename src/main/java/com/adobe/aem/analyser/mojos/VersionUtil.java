@@ -11,8 +11,14 @@
 */
 package com.adobe.aem.analyser.mojos;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.maven.artifact.handler.manager.ArtifactHandlerManager;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
@@ -39,6 +45,9 @@ public class VersionUtil {
 
     private static final String PLUGIN_TYPE = "maven-plugin";
 
+    /** Maximum number of concurrent version lookups */
+    private static final int MAX_LOOKUP_THREADS = 4;
+
     private final MavenProject project;
 
     private final Log log;
@@ -53,6 +62,10 @@ public class VersionUtil {
 
     private final boolean isOffline;
 
+    private Map<String, String> sessionVersions = new ConcurrentHashMap<>();
+
+    private VersionCache versionCache;
+
     public VersionUtil(final Log log,
             final MavenProject project,
             final ArtifactHandlerManager artifactHandlerManager,
@@ -67,6 +80,22 @@ public class VersionUtil {
         this.isOffline = isOffline;
     }
 
+    /**
+     * Set the map for sharing found versions between all modules of a build
+     * @param sessionVersions The map
+     */
+    void setSessionVersions(final Map<String, String> sessionVersions) {
+        this.sessionVersions = sessionVersions;
+    }
+
+    /**
+     * Set the disk cache for found versions
+     * @param versionCache The cache
+     */
+    void setVersionCache(final VersionCache versionCache) {
+        this.versionCache = versionCache;
+    }
+
     /**
      * Get warnings about outdated versions being used
      * @return A list of warnings, might be empty
@@ -136,26 +165,7 @@ public class VersionUtil {
             final String configuredVersion,
             final boolean useDependencyVersions) throws MojoExecutionException {
 
-        ArtifactId dependencySdk;
-        // if an artifact id is configured, use it to find a project dependency
-        if ( configuredArtifactId != null ) {
-            if ( configuredVersion != null ) {
-                dependencySdk = new ArtifactId(Constants.SDK_GROUP_ID, configuredArtifactId, configuredVersion, null, null);
-            } else {
-                dependencySdk = getArtifactIdFromDependencies(Constants.SDK_GROUP_ID, configuredArtifactId);
-                if ( dependencySdk == null && configuredVersion == null ) {
-                    throw new MojoExecutionException("Unable to find SDK artifact in dependencies or dependency management: "
-                                        + Constants.SDK_GROUP_ID + ":" + configuredArtifactId);
-                }
-            }
-        } else {
-            // first search prerelease SDK
-            dependencySdk = getArtifactIdFromDependencies(Constants.SDK_GROUP_ID, Constants.SDK_PRERELEASE_ARTIFACT_ID);
-            if ( dependencySdk == null ) {
-                // use SDK
-                dependencySdk = getArtifactIdFromDependencies(Constants.SDK_GROUP_ID, Constants.SDK_ARTIFACT_ID);
-            }
-        }
+        final ArtifactId dependencySdk = findSdkDependency(configuredArtifactId, configuredVersion);
 
         // use configured, found or default artifact id
         final String useArtifactId = dependencySdk != null ? dependencySdk.getArtifactId() : Constants.SDK_ARTIFACT_ID;
@@ -192,6 +202,36 @@ public class VersionUtil {
         return result;
     }
 
+    /**
+     * Find the SDK in the project dependencies
+     * @return The artifact id of the SDK dependency or {@code null}
+     * @throws MojoExecutionException If a configured SDK artifact can't be found
+     */
+    private ArtifactId findSdkDependency(final String configuredArtifactId, final String configuredVersion)
+    throws MojoExecutionException {
+        ArtifactId dependencySdk;
+        // if an artifact id is configured, use it to find a project dependency
+        if ( configuredArtifactId != null ) {
+            if ( configuredVersion != null ) {
+                dependencySdk = new ArtifactId(Constants.SDK_GROUP_ID, configuredArtifactId, configuredVersion, null, null);
+            } else {
+                dependencySdk = getArtifactIdFromDependencies(Constants.SDK_GROUP_ID, configuredArtifactId);
+                if ( dependencySdk == null && configuredVersion == null ) {
+                    throw new MojoExecutionException("Unable to find SDK artifact in dependencies or dependency management: "
+                                        + Constants.SDK_GROUP_ID + ":" + configuredArtifactId);
+                }
+            }
+        } else {
+            // first search prerelease SDK
+            dependencySdk = getArtifactIdFromDependencies(Constants.SDK_GROUP_ID, Constants.SDK_PRERELEASE_ARTIFACT_ID);
+            if ( dependencySdk == null ) {
+                // use SDK
+                dependencySdk = getArtifactIdFromDependencies(Constants.SDK_GROUP_ID, Constants.SDK_ARTIFACT_ID);
+            }
+        }
+        return dependencySdk;
+    }
+
     private boolean isNewer(final String existingVersion, final String foundVersion) {
         if ( foundVersion == null ) {
             return false;
@@ -244,13 +284,48 @@ public class VersionUtil {
                 "RELEASE"); // this refers to the latest release version
         List<RemoteRepository> repositories = getRemoteRepositoriesWithUpdatePolicy(
                 PLUGIN_TYPE.equals(dependency.getType()) ? project.getRemotePluginRepositories() : project.getRemoteProjectRepositories(), RepositoryPolicy.UPDATE_POLICY_ALWAYS);
-        VersionRequest versionRequest = new VersionRequest(artifact, repositories, null);
-        try {
-            VersionResult result = repoSystem.resolveVersion(repoSession, versionRequest);
-            return result.getVersion();
-        } catch (VersionResolutionException e) {
-            throw new MojoExecutionException(e.getMessage(), e);
+        final String key = getVersionKey(artifact, repositories);
+        String version = this.sessionVersions.get(key);
+        if ( version == null && this.versionCache != null ) {
+            version = this.versionCache.get(key);
+            if ( version != null ) {
+                this.log.debug("Using cached latest version " + version + " for " + dependency);
+            }
         }
+        if ( version == null ) {
+            VersionRequest versionRequest = new VersionRequest(artifact, repositories, null);
+            try {
+                VersionResult result = repoSystem.resolveVersion(repoSession, versionRequest);
+                version = result.getVersion();
+            } catch (VersionResolutionException e) {
+                throw new MojoExecutionException(e.getMessage(), e);
+            }
+            if ( version != null && this.versionCache != null ) {
+                try {
+                    this.versionCache.put(key, version);
+                } catch (final IOException e) {
+                    this.log.debug("Unable to update version cache: " + e.getMessage(), e);
+                }
+            }
+        }
+        if ( version != null ) {
+            this.sessionVersions.put(key, version);
+        }
+        return version;
+    }
+
+    /**
+     * The key for caching the latest version, includes the repositories as different
+     * projects might use different repositories
+     */
+    private static String getVersionKey(final Artifact artifact, final List<RemoteRepository> repositories) {
+        final StringBuilder sb = new StringBuilder(artifact.toString());
+        char sep = '@';
+        for(final RemoteRepository repo : repositories) {
+            sb.append(sep).append(repo.getId());
+            sep = ',';
+        }
+        return sb.toString();
     }
 
     private List<RemoteRepository> getRemoteRepositoriesWithUpdatePolicy(List<RemoteRepository> repositories, String updatePolicy) {
@@ -264,6 +339,79 @@ public class VersionUtil {
         return newRepositories;
     }
 
+    /**
+     * Look up the latest versions of the plugin, the SDK and the add-ons concurrently. The results
+     * are kept in the session versions, so the following calls to {@link #checkPluginVersion(String, String, String)},
+     * {@link #getSDKArtifactId(String, String, boolean)} and {@link #discoverAddons(List, boolean)} don't
+     * wait for the remote repositories one after the other. Failed lookups are ignored here, they
+     * are reported by the later calls.
+     *
+     * @param pluginGroupId Group id of the plugin
+     * @param pluginArtifactId Artifact id of the plugin
+     * @param configuredArtifactId The configured SDK artifact id or {@code null}
+     * @param configuredVersion The configured SDK version or {@code null}
+     * @param addons Configured add ons
+     * @param useDependencyVersions Whether the dependency versions are used for SDK and add-ons
+     */
+    void prefetchLatestVersions(final String pluginGroupId,
+            final String pluginArtifactId,
+            final String configuredArtifactId,
+            final String configuredVersion,
+            final List<Addon> addons,
+            final boolean useDependencyVersions) {
+        if ( this.isOffline ) {
+            return;
+        }
+        final List<Dependency> lookups = new ArrayList<>();
+        final Dependency pluginDependency = new Dependency();
+        pluginDependency.setGroupId(pluginGroupId);
+        pluginDependency.setArtifactId(pluginArtifactId);
+        pluginDependency.setType(PLUGIN_TYPE);
+        lookups.add(pluginDependency);
+
+        if ( !useDependencyVersions ) {
+            if ( configuredVersion == null ) {
+                try {
+                    final ArtifactId dependencySdk = findSdkDependency(configuredArtifactId, null);
+                    final Dependency dep = new Dependency();
+                    dep.setGroupId(Constants.SDK_GROUP_ID);
+                    dep.setArtifactId(dependencySdk != null ? dependencySdk.getArtifactId() : Constants.SDK_ARTIFACT_ID);
+                    lookups.add(dep);
+                } catch (final MojoExecutionException e) {
+                    // reported by getSDKArtifactId
+                }
+            }
+            for (final Addon addon : getAdons(addons)) {
+                try {
+                    final ArtifactId addonSDK = getArtifactIdFromDependencies(addon.groupId, addon.artifactId);
+                    if ( addonSDK != null ) {
+                        final Dependency dep = new Dependency();
+                        dep.setGroupId(addonSDK.getGroupId());
+                        dep.setArtifactId(addonSDK.getArtifactId());
+                        lookups.add(dep);
+                    }
+                } catch (final MojoExecutionException e) {
+                    // reported by discoverAddons
+                }
+            }
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(lookups.size(), MAX_LOOKUP_THREADS));
+        try {
+            CompletableFuture.allOf(lookups.stream()
+                .map(dep -> CompletableFuture.runAsync(() -> {
+                    try {
+                        this.getLatestVersion(dep);
+                    } catch (final MojoExecutionException | RuntimeException e) {
+                        this.log.debug("Unable to look up latest version for " + dep + " : " + e.getMessage(), e);
+                    }
+                }, executor))
+                .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     /**
      * Check for a newer version of the plugin
      * @param groupId Group id of the plugin
@@ -34,6 +34,8 @@ public class AemAnalyseLifecycleMappingProvider implements Provider<LifecycleMap
     private static final Map<String, LifecyclePhase> BINDINGS;
     static {
         BINDINGS = new HashMap<>();
+        BINDINGS.put("generate-resources", new LifecyclePhase("com.adobe.aem:aemanalyser-maven-plugin:convert-packages"));
+        BINDINGS.put("process-resources", new LifecyclePhase("com.adobe.aem:aemanalyser-maven-plugin:aggregate-features"));
         BINDINGS.put("test", new LifecyclePhase("com.adobe.aem:aemanalyser-maven-plugin:analyse"));
     }
 
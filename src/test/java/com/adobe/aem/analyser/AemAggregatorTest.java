@@ -18,18 +18,25 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
+import org.apache.sling.feature.Artifact;
 import org.apache.sling.feature.ArtifactId;
 import org.apache.sling.feature.Extension;
 import org.apache.sling.feature.ExtensionState;
@@ -39,11 +46,15 @@ import org.apache.sling.feature.builder.FeatureProvider;
 import org.apache.sling.feature.extension.apiregions.api.artifacts.ArtifactRules;
 import org.apache.sling.feature.extension.apiregions.api.artifacts.Mode;
 import org.apache.sling.feature.extension.apiregions.api.artifacts.VersionRule;
+import org.apache.sling.feature.extension.apiregions.api.config.ConfigurationApi;
 import org.apache.sling.feature.scanner.impl.SystemBundleDescriptor;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import com.adobe.aem.analyser.fixtures.FixtureGenerator;
+import com.adobe.aem.project.ServiceType;
+
 import jakarta.json.Json;
 import jakarta.json.JsonObject;
 
@@ -197,6 +208,146 @@ public class AemAggregatorTest {
         assertTrue(publishFound);
     }
 
+    @Test
+    public void testProductAggregateCache() throws Exception {
+        final Map<String, Feature> cache = new ConcurrentHashMap<>();
+        final ArtifactId sdkFeatureId = ArtifactId.parse("lala:hoho:slingosgifeature:aem-author-sdk:0.0.1");
+
+        final AemAggregator agg1 = new AemAggregator();
+        agg1.setFeatureOutputDirectory(tempDir.newFolder("p1"));
+        agg1.setProjectId(ArtifactId.parse("gp:ap:5"));
+        agg1.setProductAggregateCache(cache);
+        final Feature sdkFeature = new Feature(sdkFeatureId);
+        sdkFeature.getBundles().add(new Artifact(ArtifactId.parse("g:b:1")));
+        final List<Feature> result1 = agg1.aggregate(Collections.singletonMap("product-aggregated-author", List.of(sdkFeature)),
+            AemAggregator.Mode.PRODUCT, new HashMap<>());
+        assertEquals(ArtifactId.parse("gp:ap:slingosgifeature:product-aggregated-author:5"), result1.get(0).getId());
+        assertEquals(1, cache.size());
+
+        // a second project with the same product features gets the cached aggregate
+        final AemAggregator agg2 = new AemAggregator();
+        agg2.setFeatureOutputDirectory(tempDir.newFolder("p2"));
+        agg2.setProjectId(ArtifactId.parse("gq:aq:6"));
+        agg2.setProductAggregateCache(cache);
+        final Map<String, Feature> projectFeatures = new HashMap<>();
+        final List<Feature> result2 = agg2.aggregate(Collections.singletonMap("product-aggregated-author", List.of(new Feature(sdkFeatureId))),
+            AemAggregator.Mode.PRODUCT, projectFeatures);
+        assertEquals(ArtifactId.parse("gq:aq:slingosgifeature:product-aggregated-author:6"), result2.get(0).getId());
+        assertEquals(1, result2.get(0).getBundles().size());
+        assertEquals(result2.get(0), projectFeatures.get("product-aggregated-author"));
+
+        // changes to the aggregate don't change the cache
+        result2.get(0).getBundles().clear();
+        assertEquals(1, cache.values().iterator().next().getBundles().size());
+
+        // a product feature with the same id but a different fingerprint is aggregated again
+        final Map<String, Feature> fingerprintCache = new ConcurrentHashMap<>();
+        final AemAggregator agg3 = new AemAggregator();
+        agg3.setFeatureOutputDirectory(tempDir.newFolder("p3"));
+        agg3.setProjectId(ArtifactId.parse("gp:ap:5"));
+        agg3.setProductAggregateCache(fingerprintCache);
+        agg3.setFeatureFingerprints(id -> "file-1");
+        agg3.aggregate(Collections.singletonMap("product-aggregated-author", List.of(sdkFeature)),
+            AemAggregator.Mode.PRODUCT, new HashMap<>());
+        agg3.setFeatureFingerprints(id -> "file-2");
+        final Feature snapshot = new Feature(sdkFeatureId);
+        final List<Feature> result3 = agg3.aggregate(Collections.singletonMap("product-aggregated-author", List.of(snapshot)),
+            AemAggregator.Mode.PRODUCT, new HashMap<>());
+        assertEquals(2, fingerprintCache.size());
+        assertTrue(result3.get(0).getBundles().isEmpty());
+    }
+
+    @Test
+    public void testIdenticalAggregatesAreAssembledOnce() throws Exception {
+        final AemAggregator agg = new AemAggregator();
+        agg.setFeatureOutputDirectory(tempDir.newFolder("identical"));
+        agg.setProjectId(ArtifactId.parse("gp:ap:5"));
+
+        final Feature all = new Feature(ArtifactId.parse("gp:ap:slingosgifeature:all:5"));
+        all.getBundles().add(new Artifact(ArtifactId.parse("g:b:1")));
+        final Feature dev = new Feature(ArtifactId.parse("gp:ap:slingosgifeature:dev:5"));
+        dev.getBundles().add(new Artifact(ArtifactId.parse("g:c:1")));
+
+        final Map<String, List<Feature>> aggregates = new LinkedHashMap<>();
+        aggregates.put("user-aggregated-author.stage", List.of(all));
+        aggregates.put("user-aggregated-author.prod", List.of(all));
+        aggregates.put("user-aggregated-author.dev", List.of(all, dev));
+
+        final Map<String, Feature> projectFeatures = new HashMap<>();
+        final List<Feature> result = agg.aggregate(aggregates, AemAggregator.Mode.USER, projectFeatures);
+        assertEquals(3, result.size());
+        assertEquals(ArtifactId.parse("gp:ap:slingosgifeature:user-aggregated-author.prod:5"), result.get(1).getId());
+        assertEquals(result.get(0).getBundles(), result.get(1).getBundles());
+        assertEquals(2, result.get(2).getBundles().size());
+
+        final Map<String, String> keys = agg.getAggregateKeys();
+        assertEquals(keys.get(result.get(0).getId().toMvnId()), keys.get(result.get(1).getId().toMvnId()));
+        assertNotEquals(keys.get(result.get(0).getId().toMvnId()), keys.get(result.get(2).getId().toMvnId()));
+
+        // the copies are independent
+        result.get(1).getBundles().clear();
+        assertEquals(1, result.get(0).getBundles().size());
+        assertTrue(new File(agg.getFeatureOutputDirectory(), "user-aggregated-author.prod.json").exists());
+    }
+
+    private AemAggregator createFixtureAggregator(final File inputDir, final String outputDir) throws IOException {
+        final AemAggregator aggregator = new AemAggregator();
+        aggregator.setFeatureInputDirectory(inputDir);
+        aggregator.setFeatureOutputDirectory(tempDir.newFolder(outputDir));
+        aggregator.setProjectId(ArtifactId.parse("com.adobe.aem.fixture:project:1.0.0"));
+        aggregator.setArtifactProvider(id -> null);
+        aggregator.setFeatureProvider(id -> null);
+        aggregator.setProductFeatureGenerator(new ProductFeatureGenerator() {
+
+            @Override
+            public Map<ProductVariation, List<Feature>> getProductAggregates(final EnumSet<ServiceType> serviceTypes) {
+                return Map.of(
+                    SdkProductVariation.AUTHOR, List.of(FixtureGenerator.createProductFeature(SdkProductVariation.AUTHOR, "1.0", 5, 10)),
+                    SdkProductVariation.PUBLISH, List.of(FixtureGenerator.createProductFeature(SdkProductVariation.PUBLISH, "1.0", 5, 10)));
+            }
+
+            @Override
+            public ProductVariation getVariation(final String name) {
+                return name.contains("author") ? SdkProductVariation.AUTHOR : SdkProductVariation.PUBLISH;
+            }
+        });
+        return aggregator;
+    }
+
+    @Test
+    public void testStreamingAggregation() throws Exception {
+        final File inputDir = tempDir.newFolder("fm.in");
+        FixtureGenerator.createConverterOutput(inputDir, 5, 2, 5);
+
+        final AemAggregator aggregator = createFixtureAggregator(inputDir, "fm.out");
+        final Map<String, Feature> expected = new HashMap<>();
+        for(final Feature f : aggregator.aggregate()) {
+            expected.put(f.getId().toMvnId(), f);
+        }
+        final Map<String, String> expectedKeys = new HashMap<>(aggregator.getAggregateKeys());
+
+        final AemAggregator streaming = createFixtureAggregator(inputDir, "fm.streaming");
+        final List<Feature> result = new ArrayList<>();
+        streaming.aggregate(result::add);
+
+        assertEquals(expected.keySet(), result.stream().map(f -> f.getId().toMvnId()).collect(Collectors.toSet()));
+        for(final Feature f : result) {
+            assertEquals(expected.get(f.getId().toMvnId()).getBundles(), f.getBundles());
+            assertEquals(expected.get(f.getId().toMvnId()).getConfigurations(), f.getConfigurations());
+        }
+        assertEquals(expectedKeys, streaming.getAggregateKeys());
+
+        // the user aggregates are passed last, with the configuration api of the final aggregates
+        final Feature last = result.get(result.size() - 1);
+        assertTrue(last.getId().getClassifier().startsWith("user-"));
+        assertEquals(getConfigurationApiJSON(expected.get(last.getId().toMvnId())), getConfigurationApiJSON(last));
+    }
+
+    private static String getConfigurationApiJSON(final Feature feature) {
+        final Extension ext = feature.getExtensions().getByName(ConfigurationApi.EXTENSION_NAME);
+        return ext == null ? null : ext.getJSON();
+    }
+
     @Test
     public void testFinalAggregates() throws Exception {
         final AemAggregator agg = new AemAggregator();
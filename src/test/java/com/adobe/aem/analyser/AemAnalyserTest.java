@@ -12,16 +12,49 @@
 package com.adobe.aem.analyser;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
 
+import org.apache.sling.feature.Artifact;
+import org.apache.sling.feature.ArtifactId;
+import org.apache.sling.feature.Configuration;
+import org.apache.sling.feature.Extension;
+import org.apache.sling.feature.ExtensionState;
+import org.apache.sling.feature.ExtensionType;
+import org.apache.sling.feature.Feature;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.adobe.aem.analyser.fixtures.FixtureGenerator;
+import com.adobe.aem.analyser.result.AemAnalyserResult;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObjectBuilder;
 
 public class AemAnalyserTest {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
     
     @Test public void testDefaultIncludedTasks() {
         final AemAnalyser analyser = new AemAnalyser();
@@ -129,4 +162,156 @@ public class AemAnalyserTest {
         assertEquals(1, analyser.getIncludedUserTasks().size());
         assertTrue(analyser.getIncludedUserTasks().contains("mytask"));
     }
+
+    @Test public void testConcurrentTasksReportInTaskOrder() throws Exception {
+        final Feature feature = new Feature(ArtifactId.parse("g:a:slingosgifeature:user-aggregated-author:1"));
+        final Configuration cfg = new Configuration("my.pid");
+        cfg.getProperties().put("a", "$[env:ADOBE_VAR]");
+        cfg.getProperties().put("b", "$[secret:x]");
+        feature.getConfigurations().add(cfg);
+
+        final Set<String> tasks = new LinkedHashSet<>(Arrays.asList("aem-env-var", "configurations-basic"));
+        final List<String> expected = analyse(feature, a -> a.setIncludedUserTasks(tasks));
+        assertTrue(expected.size() > 1);
+        assertEquals(expected, analyse(feature, a -> {
+            a.setIncludedUserTasks(tasks);
+            a.setTaskThreads(4);
+        }));
+    }
+
+    @Test public void testOnlyReadOnlyTasksRunConcurrently() {
+        assertTrue(AemAnalyser.isConcurrentTask("aem-env-var"));
+        assertTrue(AemAnalyser.isConcurrentTask("bundle-unversioned-packages"));
+        assertFalse(AemAnalyser.isConcurrentTask("requirements-capabilities"));
+        assertFalse(AemAnalyser.isConcurrentTask("content-packages-validation"));
+        assertFalse(AemAnalyser.isConcurrentTask(null));
+    }
+
+    @Test public void testConcurrentBundleTasksReportInTaskOrder() throws Exception {
+        final Feature feature = new Feature(ArtifactId.parse("g:a:slingosgifeature:user-aggregated-author:1"));
+        final Map<ArtifactId, URL> files = new HashMap<>();
+        for(int i = 0; i < 10; i++) {
+            final ArtifactId id = ArtifactId.parse("u:bundle" + i + ":1.0.0");
+            final Artifact bundle = new Artifact(id);
+            bundle.getMetadata().put("content-package-origins", "u:all:zip:1");
+            feature.getBundles().add(bundle);
+
+            final File file = tempDir.newFile("bundle" + i + ".jar");
+            final Manifest manifest = new Manifest();
+            manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+            manifest.getMainAttributes().putValue("Bundle-ManifestVersion", "2");
+            manifest.getMainAttributes().putValue("Bundle-SymbolicName", "bundle" + i);
+            manifest.getMainAttributes().putValue("Bundle-Version", "1.0.0");
+            // unversioned packages are reported by the bundle tasks
+            manifest.getMainAttributes().putValue("Export-Package", "u.bundle" + i);
+            manifest.getMainAttributes().putValue("Import-Package", "u.missing" + i);
+            try (final JarOutputStream jos = new JarOutputStream(new FileOutputStream(file), manifest)) {
+                jos.putNextEntry(new JarEntry("u/bundle" + i + "/Component.class"));
+                jos.write(FixtureGenerator.createClass("u.bundle" + i + ".Component", null));
+                jos.closeEntry();
+            }
+            files.put(id, file.toURI().toURL());
+        }
+
+        final Set<String> tasks = new LinkedHashSet<>(Arrays.asList("bundle-resources", "bundle-packages", "bundle-nativecode", "bundle-unversioned-packages"));
+        final List<String> expected = analyse(feature, a -> {
+            a.setArtifactProvider(files::get);
+            a.setIncludedUserTasks(tasks);
+        });
+        assertTrue(expected.stream().anyMatch(msg -> msg.contains("u.missing0")));
+        assertEquals(expected, analyse(feature, a -> {
+            a.setArtifactProvider(files::get);
+            a.setIncludedUserTasks(tasks);
+            a.setTaskThreads(4);
+        }));
+    }
+
+    @Test public void testFailFastStopsAtFirstFailure() throws Exception {
+        final List<Feature> features = new ArrayList<>();
+        for(final String classifier : Arrays.asList("user-aggregated-publish", "user-aggregated-author")) {
+            final Feature feature = new Feature(ArtifactId.parse("g:a:slingosgifeature:" + classifier + ":1"));
+            final Configuration cfg = new Configuration("my.pid." + classifier);
+            cfg.getProperties().put("a", "$[env:ADOBE_VAR]");
+            cfg.getProperties().put("b", "$[secret:x]");
+            feature.getConfigurations().add(cfg);
+            features.add(feature);
+        }
+
+        final AemAnalyser analyser = new AemAnalyser();
+        analyser.setArtifactProvider(id -> null);
+        analyser.setIncludedUserTasks(new LinkedHashSet<>(Arrays.asList("aem-env-var", "configurations-basic")));
+        final List<String> all = analyser.analyse(features).getErrors().stream().map(Object::toString).collect(Collectors.toList());
+
+        analyser.setFailFast(true);
+        final List<String> failFast = analyser.analyse(features).getErrors().stream().map(Object::toString).collect(Collectors.toList());
+        assertFalse(failFast.isEmpty());
+        assertTrue(failFast.size() < all.size());
+        assertTrue(all.containsAll(failFast));
+    }
+
+    @Test public void testDifferentialAnalysisReportsLikeFullAnalysis() throws Exception {
+        final Feature feature = createFinalFeature();
+        final Set<String> tasks = new LinkedHashSet<>(Arrays.asList("bundle-packages", "requirements-capabilities"));
+        final List<String> full = analyse(feature, a -> a.setIncludedTasks(tasks));
+        final List<String> differential = analyse(feature, a -> {
+            a.setIncludedTasks(tasks);
+            a.setDifferentialAnalysis(true);
+        });
+        assertTrue(full.stream().anyMatch(msg -> msg.contains("x.y")));
+
+        // problems within the product itself are only reported by a full analysis
+        assertTrue(full.stream().anyMatch(msg -> msg.contains("missing.product.pck")));
+        full.removeIf(msg -> msg.contains("missing.product.pck"));
+        assertEquals(full, differential);
+    }
+
+    /**
+     * Final aggregate with two product bundles and user bundles importing from them,
+     * requiring one of them and attaching a fragment to it
+     */
+    private static Feature createFinalFeature() {
+        final Feature feature = new Feature(ArtifactId.parse("g:a:slingosgifeature:aggregated-author:1"));
+        final ArtifactId sdk = ArtifactId.parse("com.adobe.aem:aem-sdk-api:slingosgifeature:aem-author-sdk:1.0");
+        final JsonObjectBuilder metadata = Json.createObjectBuilder();
+        for(final String[] bundle : new String[][] {
+            {"p:one:1", "one", "1.0.0", "Export-Package", "a.b;version=1.0"},
+            {"p:two:1", "two", "1.0.0", "Import-Package", "a.b;version=\"[1,2)\",missing.product.pck"},
+            {"u:user:1", "user", "1.0.0", "Import-Package", "a.b;version=\"[1,2)\",x.y"},
+            {"u:required:1", "required", "1.0.0", "Require-Bundle", "one;bundle-version=\"[1,2)\""},
+            {"u:fragment:1", "fragment", "1.0.0", "Fragment-Host", "one"}}) {
+            final Artifact artifact = new Artifact(ArtifactId.parse(bundle[0]));
+            artifact.setStartOrder(20);
+            if ( bundle[0].startsWith("u:") ) {
+                artifact.getMetadata().put("content-package-origins", "u:all:zip:1");
+            } else {
+                artifact.setFeatureOrigins(sdk);
+            }
+            feature.getBundles().add(artifact);
+            metadata.add(bundle[0], Json.createObjectBuilder().add("manifest", Json.createObjectBuilder()
+                .add("Bundle-ManifestVersion", "2")
+                .add("Bundle-SymbolicName", bundle[1])
+                .add("Bundle-Version", bundle[2])
+                .add(bundle[3], bundle[4])));
+        }
+        final Extension ext = new Extension(ExtensionType.JSON, "analyser-metadata", ExtensionState.OPTIONAL);
+        ext.setJSONStructure(metadata.build());
+        feature.getExtensions().add(ext);
+        return feature;
+    }
+
+    /**
+     * Analyse a feature and return the errors followed by the warnings
+     * @param feature The feature
+     * @param setup Configures the analyser, which has no artifacts by default
+     */
+    private static List<String> analyse(final Feature feature, final Consumer<AemAnalyser> setup) throws Exception {
+        final AemAnalyser analyser = new AemAnalyser();
+        analyser.setArtifactProvider(id -> null);
+        setup.accept(analyser);
+        final AemAnalyserResult result = analyser.analyse(Collections.singletonList(feature));
+        final List<String> messages = new ArrayList<>();
+        result.getErrors().forEach(ann -> messages.add(ann.toString()));
+        result.getWarnings().forEach(ann -> messages.add(ann.toString()));
+        return messages;
+    }
 }
@@ -0,0 +1,58 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class PhaseTimingsTest {
+
+    @Test
+    public void testPhaseDurations() throws Exception {
+        final PhaseTimings timings = new PhaseTimings();
+        try ( final PhaseTimings.Timer t = timings.start(AnalyserPhase.FINAL_AGGREGATION) ) {
+            Thread.sleep(5);
+        }
+        try ( final PhaseTimings.Timer t = timings.start(AnalyserPhase.CONVERSION) ) {
+            Thread.sleep(5);
+        }
+        final long conversion = timings.getDuration(AnalyserPhase.CONVERSION);
+        assertTrue(conversion > 0);
+
+        // durations are accumulated
+        try ( final PhaseTimings.Timer t = timings.start(AnalyserPhase.CONVERSION) ) {
+            Thread.sleep(5);
+        }
+        assertTrue(timings.getDuration(AnalyserPhase.CONVERSION) > conversion);
+        assertEquals(0L, timings.getDuration(AnalyserPhase.ANALYSIS));
+
+        // durations are reported in phase order
+        final Map<AnalyserPhase, Long> durations = timings.getDurations();
+        assertEquals(Arrays.asList(AnalyserPhase.CONVERSION, AnalyserPhase.FINAL_AGGREGATION),
+            Arrays.asList(durations.keySet().toArray()));
+    }
+
+    @Test
+    public void testSectionsAreNotAddedToPhase() throws Exception {
+        final PhaseTimings timings = new PhaseTimings();
+        try ( final PhaseTimings.Timer t = timings.start(AnalyserPhase.ANALYSIS, "aggregated-author") ) {
+            Thread.sleep(1);
+        }
+        assertEquals(0L, timings.getDuration(AnalyserPhase.ANALYSIS));
+        assertTrue(timings.getDurations().isEmpty());
+    }
+}
@@ -0,0 +1,81 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.apache.sling.feature.Artifact;
+import org.apache.sling.feature.ArtifactId;
+import org.apache.sling.feature.Configuration;
+import org.apache.sling.feature.Extension;
+import org.apache.sling.feature.ExtensionState;
+import org.apache.sling.feature.ExtensionType;
+import org.apache.sling.feature.Feature;
+import org.junit.Test;
+
+import jakarta.json.JsonObject;
+
+public class ProductDataPoolTest {
+
+    private static Feature createFeature(final String classifier, final String userOrigin) {
+        final Feature feature = new Feature(ArtifactId.parse("g:a:slingosgifeature:" + classifier + ":1"));
+        final Artifact product = new Artifact(ArtifactId.parse("g:product:1"));
+        product.setStartOrder(20);
+        feature.getBundles().add(product);
+        final Artifact user = new Artifact(ArtifactId.parse("g:user:1"));
+        user.getMetadata().put("content-package-origins", userOrigin);
+        feature.getBundles().add(user);
+
+        final Configuration cfg = new Configuration("product.pid");
+        cfg.getProperties().put("values", new String[] {"a", "b"});
+        feature.getConfigurations().add(cfg);
+
+        final Extension ext = new Extension(ExtensionType.JSON, "analyser-metadata", ExtensionState.OPTIONAL);
+        ext.setJSON("{\"g:product:1\":{\"manifest\":{\"Bundle-SymbolicName\":\"product\"}}}");
+        feature.getExtensions().add(ext);
+        return feature;
+    }
+
+    @Test public void testProductDataIsShared() {
+        final ProductDataPool pool = new ProductDataPool();
+        final Feature author = createFeature("aggregated-author", "g:cp:zip:1");
+        final Feature authorDev = createFeature("aggregated-author.dev", "g:cp:zip:1");
+
+        assertEquals(0, pool.share(author));
+        assertEquals(3, pool.share(authorDev));
+
+        assertSame(author.getBundles().get(0), authorDev.getBundles().get(0));
+        assertSame(author.getConfigurations().get(0), authorDev.getConfigurations().get(0));
+        final JsonObject m1 = author.getExtensions().getByName("analyser-metadata").getJSONStructure().asJsonObject();
+        final JsonObject m2 = authorDev.getExtensions().getByName("analyser-metadata").getJSONStructure().asJsonObject();
+        assertSame(m1.get("g:product:1"), m2.get("g:product:1"));
+
+        // the user bundles are owned by each aggregate
+        assertNotSame(author.getBundles().get(1), authorDev.getBundles().get(1));
+    }
+
+    @Test public void testDifferentEntriesAreNotShared() {
+        final ProductDataPool pool = new ProductDataPool();
+        final Feature author = createFeature("aggregated-author", "g:cp:zip:1");
+        final Feature publish = createFeature("aggregated-publish", "g:cp:zip:1");
+        publish.getBundles().get(0).setStartOrder(30);
+        publish.getConfigurations().get(0).getProperties().put("values", new String[] {"a", "c"});
+
+        pool.share(author);
+        pool.share(publish);
+        assertNotSame(author.getBundles().get(0), publish.getBundles().get(0));
+        assertEquals(30, publish.getBundles().get(0).getStartOrder());
+        assertNotSame(author.getConfigurations().get(0), publish.getConfigurations().get(0));
+    }
+}
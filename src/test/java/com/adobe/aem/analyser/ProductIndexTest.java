@@ -0,0 +1,89 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sling.feature.Artifact;
+import org.apache.sling.feature.ArtifactId;
+import org.apache.sling.feature.Extension;
+import org.apache.sling.feature.ExtensionState;
+import org.apache.sling.feature.ExtensionType;
+import org.apache.sling.feature.Feature;
+import org.junit.Test;
+
+import jakarta.json.JsonObject;
+
+public class ProductIndexTest {
+
+    private static final ArtifactId SDK_FEATURE = ArtifactId.parse("com.adobe.aem:aem-sdk-api:slingosgifeature:aem-author-sdk:1.0");
+
+    private static Feature createFeature() {
+        final Feature feature = new Feature(ArtifactId.parse("g:a:slingosgifeature:aggregated-author:1"));
+        for(final String id : new String[] {"p:one:1", "p:two:1"}) {
+            final Artifact bundle = new Artifact(ArtifactId.parse(id));
+            bundle.setStartOrder(20);
+            bundle.setFeatureOrigins(SDK_FEATURE);
+            feature.getBundles().add(bundle);
+        }
+        final Artifact userBundle = new Artifact(ArtifactId.parse("u:user:1"));
+        userBundle.getMetadata().put("content-package-origins", "u:all:zip:1");
+        feature.getBundles().add(userBundle);
+
+        final Extension ext = new Extension(ExtensionType.JSON, "analyser-metadata", ExtensionState.OPTIONAL);
+        ext.setJSON("{"
+            + "\"p:one:1\":{\"manifest\":{\"Bundle-SymbolicName\":\"one\",\"Export-Package\":\"a.b;version=1.0\",\"Import-Package\":\"c.d\"}},"
+            + "\"p:two:1\":{\"manifest\":{\"Bundle-SymbolicName\":\"two\",\"Fragment-Host\":\"one\",\"Provide-Capability\":\"osgi.service;objectClass=x\",\"Require-Capability\":\"osgi.ee\"}},"
+            + "\"extra-metadata:system.bundle:0\":{\"artifactId\":\"org.apache.felix:org.apache.felix.framework:7.0.5\"}"
+            + "}");
+        feature.getExtensions().add(ext);
+        return feature;
+    }
+
+    @Test
+    public void testApply() {
+        final Feature feature = createFeature();
+        final String key = ProductIndex.getKey(feature);
+        assertFalse(key.isEmpty());
+
+        final Feature result = ProductIndex.build(feature).apply(feature);
+        // the product bundles keep their identity
+        assertEquals(feature.getBundles(), result.getBundles());
+        assertEquals(20, result.getBundles().getExact(ArtifactId.parse("p:one:1")).getStartOrder());
+        assertEquals(SDK_FEATURE, result.getBundles().getExact(ArtifactId.parse("p:one:1")).getFeatureOrigins()[0]);
+
+        final JsonObject metadata = result.getExtensions().getByName("analyser-metadata").getJSONStructure().asJsonObject();
+        assertTrue(metadata.containsKey("extra-metadata:system.bundle:0"));
+        final JsonObject one = metadata.getJsonObject("p:one:1").getJsonObject("manifest");
+        assertEquals("one", one.getString("Bundle-SymbolicName"));
+        assertEquals("a.b;version=1.0", one.getString("Export-Package"));
+        assertFalse(one.containsKey("Import-Package"));
+        final JsonObject two = metadata.getJsonObject("p:two:1").getJsonObject("manifest");
+        assertEquals("osgi.service;objectClass=x", two.getString("Provide-Capability"));
+        assertEquals("one", two.getString("Fragment-Host"));
+        assertFalse(two.containsKey("Require-Capability"));
+
+        // the original feature is unchanged
+        assertEquals(key, ProductIndex.getKey(feature));
+        assertTrue(feature.getExtensions().getByName("analyser-metadata").getJSONStructure().asJsonObject()
+            .getJsonObject("p:one:1").getJsonObject("manifest").containsKey("Import-Package"));
+    }
+
+    @Test
+    public void testNoProductBundles() {
+        final Feature feature = new Feature(ArtifactId.parse("g:a:slingosgifeature:user-aggregated-author:1"));
+        feature.getBundles().add(new Artifact(ArtifactId.parse("u:user:1")));
+        assertTrue(ProductIndex.getKey(feature).isEmpty());
+    }
+}
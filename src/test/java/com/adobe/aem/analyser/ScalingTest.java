@@ -0,0 +1,135 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sling.feature.ArtifactId;
+import org.apache.sling.feature.Feature;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import com.adobe.aem.analyser.fixtures.FixtureGenerator;
+import com.adobe.aem.project.ServiceType;
+
+/**
+ * Checks that large projects are handled within generous time and memory budgets.
+ * The budgets are meant to catch accidental quadratic behaviour, not to measure
+ * performance, use the benchmarks for that.
+ * <p>
+ * The tests take minutes and only run with the {@code scaling} profile.
+ */
+@Category(SlowTests.class)
+public class ScalingTest {
+
+    private static final long MB = 1024 * 1024;
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Test
+    public void testRunmodeMappingsWithManyFeatures() {
+        final Map<String, String> mappings = FixtureGenerator.createRunmodeMappings(10_000);
+
+        final long start = System.nanoTime();
+        final Map<String, List<String>> aggregates = AemAnalyserUtil.getAggregates(mappings, EnumSet.allOf(ServiceType.class));
+        assertBudget("runmode mapping", start, 5);
+
+        // all features with the default runmode are part of every aggregate
+        for(final List<String> features : aggregates.values()) {
+            assertTrue(features.containsAll(List.of(mappings.get("(default)").split(","))));
+        }
+    }
+
+    @Test
+    public void testAggregateManyFeaturesAndConfigurations() throws Exception {
+        // 100 features with 5 bundles and 500 configurations each
+        final File inputDir = tempDir.newFolder("fm.in");
+        FixtureGenerator.createConverterOutput(inputDir, 100, 5, 500);
+
+        final AemAggregator aggregator = new AemAggregator();
+        aggregator.setFeatureInputDirectory(inputDir);
+        aggregator.setFeatureOutputDirectory(tempDir.newFolder("fm.out"));
+        aggregator.setProjectId(ArtifactId.parse("com.adobe.aem.fixture:project:1.0.0"));
+        aggregator.setArtifactProvider(id -> null);
+        aggregator.setFeatureProvider(id -> null);
+        aggregator.setEnableDuplicateBundleHandling(true);
+        aggregator.setProductFeatureGenerator(new ProductFeatureGenerator() {
+
+            @Override
+            public Map<ProductVariation, List<Feature>> getProductAggregates(final EnumSet<ServiceType> serviceTypes) {
+                return Map.of(
+                    SdkProductVariation.AUTHOR, List.of(FixtureGenerator.createProductFeature(SdkProductVariation.AUTHOR, "1.0", 500, 1000)),
+                    SdkProductVariation.PUBLISH, List.of(FixtureGenerator.createProductFeature(SdkProductVariation.PUBLISH, "1.0", 500, 1000)));
+            }
+
+            @Override
+            public ProductVariation getVariation(final String name) {
+                return name.contains("author") ? SdkProductVariation.AUTHOR : SdkProductVariation.PUBLISH;
+            }
+        });
+
+        final long memory = usedMemory();
+        final long start = System.nanoTime();
+        final List<Feature> result = aggregator.aggregate();
+        assertBudget("aggregation", start, 120);
+        assertMemoryBudget("aggregation", memory, 1024);
+
+        // user and final aggregates for each runmode which adds features
+        assertEquals(0, result.size() % 2);
+        for(final Feature f : result) {
+            assertTrue(f.getBundles().size() >= 5 * 9);
+        }
+    }
+
+    @Test
+    public void testConvertManyContentPackages() throws Exception {
+        // 100 packages with 5 bundles each
+        final Map<String, File> packages = FixtureGenerator.createContentPackages(tempDir.newFolder("packages"), 100, 5, 3, 20);
+
+        final File outputDir = tempDir.newFolder("cp-conversion");
+        final AemPackageConverter converter = new AemPackageConverter();
+        converter.setConverterOutputDirectory(outputDir);
+        converter.setFeatureOutputDirectory(new File(outputDir, "fm.out"));
+
+        final long start = System.nanoTime();
+        converter.convert(packages);
+        assertBudget("conversion", start, 300);
+
+        assertTrue(new File(outputDir, "fm.out/runmode.mapping").isFile());
+    }
+
+    private static void assertBudget(final String operation, final long start, final long budgetSeconds) {
+        final long seconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start);
+        assertTrue(operation + " took " + seconds + "s, budget is " + budgetSeconds + "s", seconds <= budgetSeconds);
+    }
+
+    private static void assertMemoryBudget(final String operation, final long before, final long budgetMb) {
+        final long used = (usedMemory() - before) / MB;
+        assertTrue(operation + " retained " + used + "MB, budget is " + budgetMb + "MB", used <= budgetMb);
+    }
+
+    private static long usedMemory() {
+        System.gc();
+        final Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
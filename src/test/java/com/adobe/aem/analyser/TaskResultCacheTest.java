@@ -0,0 +1,156 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.stream.Collectors;
+
+import org.apache.sling.feature.Artifact;
+import org.apache.sling.feature.ArtifactId;
+import org.apache.sling.feature.Configuration;
+import org.apache.sling.feature.Feature;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.adobe.aem.analyser.result.AemAnalyserAnnotation;
+import com.adobe.aem.analyser.result.AemAnalyserResult;
+
+public class TaskResultCacheTest {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    private static Feature createFeature(final String value) {
+        final Feature feature = new Feature(ArtifactId.parse("g:a:slingosgifeature:user-aggregated-author:1"));
+        final Configuration cfg = new Configuration("my.pid");
+        cfg.getProperties().put("a", value);
+        feature.getConfigurations().add(cfg);
+        return feature;
+    }
+
+    @Test public void testWriteAndRead() throws Exception {
+        final File file = new File(tempDir.getRoot(), "cache.json");
+        final TaskResultCache cache = new TaskResultCache(file, "1.0");
+        final TaskResultCache.Reports reports = new TaskResultCache.Reports();
+        reports.getErrors().add(new AemAnalyserAnnotation("error"));
+        reports.getWarnings().add(new AemAnalyserAnnotation("warning"));
+        cache.put("key", reports);
+        cache.write();
+
+        final TaskResultCache.Reports read = new TaskResultCache(file, "1.0").get("key");
+        assertNotNull(read);
+        assertEquals(reports.getErrors(), read.getErrors());
+        assertEquals(reports.getWarnings(), read.getWarnings());
+
+        // entries of a different version are ignored
+        assertNull(new TaskResultCache(file, "2.0").get("key"));
+    }
+
+    @Test public void testUnusedEntriesAreDropped() throws Exception {
+        final File file = new File(tempDir.getRoot(), "cache.json");
+        final TaskResultCache cache = new TaskResultCache(file, "1.0");
+        cache.put("a", new TaskResultCache.Reports());
+        cache.put("b", new TaskResultCache.Reports());
+        cache.write();
+
+        final TaskResultCache second = new TaskResultCache(file, "1.0");
+        assertNotNull(second.get("a"));
+        second.write();
+
+        final TaskResultCache third = new TaskResultCache(file, "1.0");
+        assertNotNull(third.get("a"));
+        assertNull(third.get("b"));
+    }
+
+    @Test public void testFingerprintOfConfigurations() {
+        assertEquals(TaskResultCache.getConfigurationsFingerprint(createFeature("x")),
+            TaskResultCache.getConfigurationsFingerprint(createFeature("x")));
+        assertNotEquals(TaskResultCache.getConfigurationsFingerprint(createFeature("x")),
+            TaskResultCache.getConfigurationsFingerprint(createFeature("y")));
+        assertNotEquals(TaskResultCache.getConfigurationsFingerprint(createFeature("x")),
+            TaskResultCache.getConfigurationsFingerprint(createFeatureWithValue(new String[] {"x"})));
+    }
+
+    @Test public void testFingerprintOfBundles() throws Exception {
+        final File bundleFile = tempDir.newFile("bundle.jar");
+        Files.write(bundleFile.toPath(), "content-1".getBytes(StandardCharsets.UTF_8));
+        bundleFile.setLastModified(100000L);
+        final Feature feature = new Feature(ArtifactId.parse("g:a:slingosgifeature:user-aggregated-author:1"));
+        feature.getBundles().add(new Artifact(ArtifactId.parse("g:bundle:1")));
+
+        final File file = new File(tempDir.getRoot(), "cache.json");
+        final TaskResultCache cache = new TaskResultCache(file, "1.0");
+        final String fingerprint = cache.getBundlesFingerprint(feature, id -> toURL(bundleFile));
+        assertNotNull(fingerprint);
+        assertNull(cache.getBundlesFingerprint(feature, id -> null));
+        cache.write();
+
+        // same path, size and modification time: the recorded checksum is used
+        Files.write(bundleFile.toPath(), "content-2".getBytes(StandardCharsets.UTF_8));
+        bundleFile.setLastModified(100000L);
+        assertEquals(fingerprint, new TaskResultCache(file, "1.0").getBundlesFingerprint(feature, id -> toURL(bundleFile)));
+
+        // a changed modification time reads the content again
+        bundleFile.setLastModified(200000L);
+        assertNotEquals(fingerprint, new TaskResultCache(file, "1.0").getBundlesFingerprint(feature, id -> toURL(bundleFile)));
+    }
+
+    private static URL toURL(final File file) {
+        try {
+            return file.toURI().toURL();
+        } catch (final MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Feature createFeatureWithValue(final Object value) {
+        final Feature feature = createFeature("");
+        feature.getConfigurations().get(0).getProperties().put("a", value);
+        return feature;
+    }
+
+    @Test public void testCachedReportsAreReplayed() throws Exception {
+        final Feature feature = createFeature("$[env:ADOBE_VAR]");
+        final String key = TaskResultCache.getKey("aem-env-var", null, feature,
+            TaskResultCache.getConfigurationsFingerprint(feature));
+        final TaskResultCache cache = new TaskResultCache(new File(tempDir.getRoot(), "cache.json"), "1.0");
+        final TaskResultCache.Reports reports = new TaskResultCache.Reports();
+        reports.getErrors().add(new AemAnalyserAnnotation("cached"));
+        cache.put(key, reports);
+
+        final AemAnalyser analyser = new AemAnalyser();
+        analyser.setArtifactProvider(id -> null);
+        analyser.setIncludedUserTasks(new LinkedHashSet<>(Collections.singletonList("aem-env-var")));
+        analyser.setTaskResultCache(cache);
+        AemAnalyserResult result = analyser.analyse(Collections.singletonList(feature));
+        assertTrue(result.getErrors().stream().map(Object::toString).collect(Collectors.toList()).contains("cached"));
+
+        // a changed configuration is analysed again
+        final Feature changed = createFeature("$[env:OTHER_VAR]");
+        result = analyser.analyse(Collections.singletonList(changed));
+        assertFalse(result.getErrors().stream().map(Object::toString).collect(Collectors.toList()).contains("cached"));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser.cli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.apache.sling.feature.Feature;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.adobe.aem.analyser.SdkProductVariation;
+import com.adobe.aem.analyser.fixtures.FixtureGenerator;
+
+public class AnalyserCliTest {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Test public void testParseOptions() throws Exception {
+        final File repo = tempDir.newFolder("repo");
+        final File flat = tempDir.newFolder("flat");
+        final File pkg = tempDir.newFile("my.all.zip");
+        final AnalyserCli.Options options = AnalyserCli.Options.parse(new String[] {
+            "-r", repo.getPath(), "-d", flat.getPath(), "--sdk", "2024.11.1", "-a", "com.adobe.aem:aem-forms-sdk-api:1.0",
+            "--tasks", "bundle-packages,requirements-capabilities", "--threads", "4", "--strict", pkg.getPath()});
+
+        assertEquals(Arrays.asList(repo), options.repositories);
+        assertEquals(Arrays.asList(flat), options.flatDirectories);
+        assertEquals("2024.11.1", options.sdk);
+        assertEquals(Arrays.asList("com.adobe.aem:aem-forms-sdk-api:1.0"), options.addons);
+        assertEquals(new LinkedHashSet<>(Arrays.asList("bundle-packages", "requirements-capabilities")), options.tasks);
+        assertEquals(4, options.threads);
+        assertTrue(options.strict);
+        assertEquals(pkg, options.contentPackages.get(pkg.getAbsolutePath()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingContentPackage() throws Exception {
+        AnalyserCli.Options.parse(new String[] {"-r", tempDir.getRoot().getPath()});
+    }
+
+    @Test public void testRun() throws Exception {
+        final String version = "1.50.0";
+        final File repo = tempDir.newFolder("repo");
+        for(final SdkProductVariation variation : SdkProductVariation.values()) {
+            final Feature feature = FixtureGenerator.createProductFeature(variation, version, 3, 2);
+            final File file = new File(repo, feature.getId().toMvnPath());
+            file.getParentFile().mkdirs();
+            FixtureGenerator.writeFeature(file, feature);
+        }
+        final File flat = tempDir.newFolder("flat");
+        FixtureGenerator.createApiJar(new File(flat, "aem-sdk-api-" + version + ".jar"), List.of(FixtureGenerator.PROVIDER_TYPE));
+        final File pkg = tempDir.newFile("package.zip");
+        FixtureGenerator.createContentPackage(pkg, "package-0", 2, 2, 2);
+        final String output = tempDir.newFolder("output").getPath();
+
+        // the bundles of the package implement a provider type, which is a warning
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ByteArrayOutputStream err = new ByteArrayOutputStream();
+        assertEquals(err.toString(), AnalyserCli.EXIT_OK, new AnalyserCli().run(new String[] {"-r", repo.getPath(), "-d", flat.getPath(),
+            "-o", output, "--tasks", "bundle-packages", "--user-tasks", "aem-provider-type", pkg.getPath()},
+            new PrintStream(out), new PrintStream(err)));
+        assertTrue(out.toString().contains("Using SDK for analysis: com.adobe.aem:aem-sdk-api:" + version));
+        assertTrue(out.toString().contains("[WARNING] "));
+
+        // which fails in strict mode
+        out = new ByteArrayOutputStream();
+        assertEquals(err.toString(), AnalyserCli.EXIT_FAILED, new AnalyserCli().run(new String[] {"-r", repo.getPath(), "-d", flat.getPath(),
+            "-o", output, "--tasks", "bundle-packages", "--user-tasks", "aem-provider-type", "--strict", pkg.getPath()},
+            new PrintStream(out), new PrintStream(err)));
+        assertTrue(out.toString().contains("[ERROR] "));
+
+        // without the API jar the analysis can't run
+        assertEquals(AnalyserCli.EXIT_USAGE, new AnalyserCli().run(new String[] {"-r", repo.getPath(),
+            "-o", output, pkg.getPath()}, new PrintStream(out), new PrintStream(err)));
+        assertTrue(err.toString().contains("SDK API jar com.adobe.aem:aem-sdk-api:" + version + " not found in"));
+    }
+
+    @Test public void testUsage() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ByteArrayOutputStream err = new ByteArrayOutputStream();
+        assertEquals(AnalyserCli.EXIT_USAGE, new AnalyserCli().run(new String[] {"--unknown"}, new PrintStream(out), new PrintStream(err)));
+        assertTrue(err.toString().contains("Unknown option --unknown"));
+
+        assertEquals(AnalyserCli.EXIT_OK, new AnalyserCli().run(new String[] {"--help"}, new PrintStream(out), new PrintStream(err)));
+        assertTrue(out.toString().startsWith("Usage: aem-analyser"));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser.cli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.sling.feature.ArtifactId;
+import org.apache.sling.feature.Feature;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LocalRepositoryTest {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    private static File write(final File dir, final String path, final String content) throws IOException {
+        final File file = new File(dir, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test public void testMavenLayoutAndFlatDirectory() throws Exception {
+        final File maven = tempDir.newFolder("maven");
+        final File flat = tempDir.newFolder("flat");
+        final File jar = write(maven, "g/a/1.0/a-1.0.jar", "maven");
+        final File other = write(flat, "b-2.0-api.jar", "flat");
+        write(flat, "sub/c-3.0.jar", "nested");
+        write(maven, "g/d/4.0/d-4.0.jar", "maven");
+        final LocalRepository repository = new LocalRepository(Arrays.asList(maven), Arrays.asList(flat));
+
+        assertEquals(jar, repository.getFile(ArtifactId.parse("g:a:1.0")));
+        assertEquals(other, repository.getFile(ArtifactId.parse("g:b:jar:api:2.0")));
+        // directories are not searched recursively
+        assertNull(repository.getFile(ArtifactId.parse("g:c:3.0")));
+        // the file name alone does not find a file in a repository
+        assertNull(new LocalRepository(Arrays.asList(tempDir.getRoot()), Collections.emptyList()).getFile(ArtifactId.parse("g:d:4.0")));
+        assertEquals(jar.toURI().toURL(), repository.provide(ArtifactId.parse("g:a:1.0")));
+        assertNull(repository.provide(ArtifactId.parse("g:c:1.0")));
+    }
+
+    @Test public void testFeaturesAreCopied() throws Exception {
+        final File flat = tempDir.newFolder("flat");
+        write(flat, "sdk-1.0-author.slingosgifeature", "{\"id\":\"g:sdk:slingosgifeature:author:1.0\"}");
+        final LocalRepository repository = new LocalRepository(Collections.emptyList(), Arrays.asList(flat));
+
+        final ArtifactId id = ArtifactId.parse("g:sdk:slingosgifeature:author:1.0");
+        final Feature feature = repository.readFeature(id);
+        assertEquals(id, feature.getId());
+        assertNotSame(feature, repository.readFeature(id));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingFeature() {
+        new LocalRepository(Arrays.asList(tempDir.getRoot()), Collections.emptyList()).readFeature(ArtifactId.parse("g:sdk:slingosgifeature:author:1.0"));
+    }
+
+    @Test public void testFindLatestVersion() throws Exception {
+        final File maven = tempDir.newFolder("maven");
+        write(maven, "com/adobe/aem/aem-sdk-api/2024.1.100.20240101T000000Z-240100/aem-sdk-api-2024.1.100.20240101T000000Z-240100.jar", "");
+        write(maven, "com/adobe/aem/aem-sdk-api/2024.11.200.20241101T000000Z-241100/aem-sdk-api-2024.11.200.20241101T000000Z-241100.jar", "");
+        write(maven, "com/adobe/aem/aem-sdk-api/2025.1.300.20250101T000000Z-250100/aem-sdk-api-2025.1.300.20250101T000000Z-250100.jar.lastUpdated", "");
+        final LocalRepository repository = new LocalRepository(Arrays.asList(maven), Collections.emptyList());
+
+        assertEquals("2024.11.200.20241101T000000Z-241100", repository.findLatestVersion("com.adobe.aem", "aem-sdk-api"));
+        assertNull(repository.findLatestVersion("com.adobe.aem", "aem-forms-sdk-api"));
+    }
+}
@@ -0,0 +1,440 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser.fixtures;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.sling.feature.Artifact;
+import org.apache.sling.feature.ArtifactId;
+import org.apache.sling.feature.Configuration;
+import org.apache.sling.feature.Extension;
+import org.apache.sling.feature.ExtensionState;
+import org.apache.sling.feature.ExtensionType;
+import org.apache.sling.feature.Feature;
+import org.apache.sling.feature.io.json.FeatureJSONWriter;
+
+import com.adobe.aem.analyser.RepoInitValidator;
+import com.adobe.aem.analyser.SdkProductVariation;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObjectBuilder;
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+
+/**
+ * Generates synthetic AEM projects of a chosen size for scaling tests and benchmarks.
+ * All output is created from the given parameters only: no network access is needed
+ * and the same parameters always create byte-identical files.
+ */
+public final class FixtureGenerator {
+
+    /** Group id used for all generated artifacts */
+    public static final String GROUP_ID = "com.adobe.aem.fixture";
+
+    /** A provider type which is implemented by one class of every generated bundle */
+    public static final String PROVIDER_TYPE = "org.apache.sling.api.resource.ResourceProvider";
+
+    /** Fixed timestamp for all archive entries to make the output reproducible */
+    private static final long TIMESTAMP = 1577836800000L;
+
+    /** Runmodes used for the generated configurations and runmode mappings */
+    private static final String[] RUNMODES = {"(default)", "author", "publish", "dev", "stage", "prod",
+        "author.dev", "author.stage", "author.prod", "publish.dev", "publish.stage", "publish.prod"};
+
+    private FixtureGenerator() {
+        // static methods only
+    }
+
+    /**
+     * Delete a directory recursively
+     * @param dir The directory
+     * @throws IOException If deleting fails
+     */
+    public static void delete(final Path dir) throws IOException {
+        if ( Files.exists(dir) ) {
+            try (final Stream<Path> paths = Files.walk(dir)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * Create the ids of bundles
+     * @param prefix Prefix for the artifact ids
+     * @param count The number of ids
+     * @return The list of ids
+     */
+    public static List<ArtifactId> createBundleIds(final String prefix, final int count) {
+        final List<ArtifactId> result = new ArrayList<>();
+        for(int i = 0; i < count; i++) {
+            result.add(new ArtifactId(GROUP_ID, prefix.concat("-bundle-") + i, "1.0." + i, null, null));
+        }
+        return result;
+    }
+
+    /**
+     * Get the package of a generated bundle
+     * @param id The bundle id
+     * @return The package name
+     */
+    public static String getPackageName(final ArtifactId id) {
+        return id.getGroupId().concat(".").concat(id.getArtifactId().replace('-', '_'));
+    }
+
+    /**
+     * Create runmode mappings as written by the content package converter. The features
+     * are distributed round robin over the default runmode, the service types, the
+     * environments and the combinations of both.
+     * @param features The number of features
+     * @return The mappings from runmode to comma separated feature files
+     */
+    public static Map<String, String> createRunmodeMappings(final int features) {
+        final Map<String, String> result = new TreeMap<>();
+        for(int i = 0; i < features; i++) {
+            result.merge(RUNMODES[i % RUNMODES.length], getFeatureFileName(i), (a, b) -> a.concat(",").concat(b));
+        }
+        return result;
+    }
+
+    /**
+     * Get the file name of a generated user feature
+     * @param index The index of the feature
+     * @return The file name
+     */
+    public static String getFeatureFileName(final int index) {
+        return "feature-" + index + ".json";
+    }
+
+    /**
+     * Write the runmode mappings
+     * @param file The target file
+     * @param mappings The mappings
+     * @throws IOException If writing fails
+     */
+    public static void writeRunmodeMappings(final File file, final Map<String, String> mappings) throws IOException {
+        // not using Properties.store as that adds a timestamp
+        final StringBuilder sb = new StringBuilder();
+        for(final Map.Entry<String, String> entry : new TreeMap<>(mappings).entrySet()) {
+            sb.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+        }
+        Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Create user features and the runmode mapping as the content package converter would do
+     * @param dir The directory to write the features to
+     * @param features The number of features
+     * @param bundles The number of bundles per feature
+     * @param configurations The number of configurations per feature
+     * @throws IOException If writing fails
+     */
+    public static void createConverterOutput(final File dir, final int features, final int bundles, final int configurations) throws IOException {
+        dir.mkdirs();
+        writeRunmodeMappings(new File(dir, "runmode.mapping"), createRunmodeMappings(features));
+        for(int i = 0; i < features; i++) {
+            final ArtifactId id = new ArtifactId(GROUP_ID, "feature-" + i, "1.0.0", null, "slingosgifeature");
+            writeFeature(new File(dir, getFeatureFileName(i)),
+                createFeature(id, createBundleIds("f" + i, bundles), configurations));
+        }
+    }
+
+    /**
+     * Create a feature with bundles and configurations
+     * @param id The feature id
+     * @param bundles The bundles
+     * @param configurations The number of configurations
+     * @return The feature
+     */
+    public static Feature createFeature(final ArtifactId id, final List<ArtifactId> bundles, final int configurations) {
+        final Feature feature = new Feature(id);
+        for(final ArtifactId bundle : bundles) {
+            feature.getBundles().add(new Artifact(bundle));
+        }
+        for(int i = 0; i < configurations; i++) {
+            final Configuration cfg = new Configuration(GROUP_ID + "." + id.getArtifactId().replace('-', '_') + ".Component~" + i);
+            cfg.getProperties().put("enabled", true);
+            cfg.getProperties().put("name", "component-" + i);
+            cfg.getProperties().put("url", "$[env:FIXTURE_URL_" + i + ";default=http://localhost]");
+            feature.getConfigurations().add(cfg);
+        }
+        return feature;
+    }
+
+    /**
+     * Create a product feature similar to the ones shipped with the AEM SDK. The bundles
+     * are described by the analyser-metadata extension, therefore no bundle files are needed.
+     * @param variation The product variation
+     * @param version The version of the SDK
+     * @param bundles The number of bundles
+     * @param configurations The number of configurations
+     * @return The feature
+     */
+    public static Feature createProductFeature(final SdkProductVariation variation, final String version,
+            final int bundles, final int configurations) {
+        final ArtifactId id = new ArtifactId("com.adobe.aem", "aem-sdk-api", version, variation.getSdkClassifier(), "slingosgifeature");
+        final List<ArtifactId> ids = createBundleIds("product", bundles);
+        final Feature feature = createFeature(id, ids, configurations);
+        feature.getFrameworkProperties().put("org.osgi.framework.bootdelegation", "sun.*,com.sun.*");
+
+        final JsonObjectBuilder metadata = Json.createObjectBuilder();
+        for(final ArtifactId bundle : ids) {
+            final JsonObjectBuilder manifest = Json.createObjectBuilder();
+            for(final Map.Entry<Object, Object> entry : createManifest(bundle, false).getMainAttributes().entrySet()) {
+                manifest.add(entry.getKey().toString(), entry.getValue().toString());
+            }
+            metadata.add(bundle.toMvnId(), Json.createObjectBuilder().add("manifest", manifest));
+        }
+        final Extension ext = new Extension(ExtensionType.JSON, "analyser-metadata", ExtensionState.OPTIONAL);
+        ext.setJSONStructure(metadata.build());
+        feature.getExtensions().add(ext);
+        return feature;
+    }
+
+    /**
+     * Write a feature as JSON
+     * @param file The file
+     * @param feature The feature
+     * @throws IOException If writing fails
+     */
+    public static void writeFeature(final File file, final Feature feature) throws IOException {
+        try (final Writer writer = new FileWriter(file, StandardCharsets.UTF_8)) {
+            FeatureJSONWriter.write(writer, feature);
+        }
+    }
+
+    /**
+     * Add a repoinit extension to the feature. The statements use the node types from {@link #createNodeTypes(int)}.
+     * @param feature The feature
+     * @param paths The number of paths and service users to create
+     */
+    public static void addRepoInit(final Feature feature, final int paths) {
+        final StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < paths; i++) {
+            sb.append("create path (fixture:Folder0) /content/fixture/path-").append(i).append('\n');
+            sb.append("create service user fixture-user-").append(i).append('\n');
+            sb.append("set ACL for fixture-user-").append(i).append('\n');
+            sb.append("    allow jcr:read on /content/fixture/path-").append(i).append('\n');
+            sb.append("end\n");
+        }
+        final Extension ext = new Extension(ExtensionType.TEXT, Extension.EXTENSION_NAME_REPOINIT, ExtensionState.REQUIRED);
+        ext.setText(sb.toString());
+        feature.getExtensions().add(ext);
+    }
+
+    /**
+     * Create node type definitions
+     * @param types The number of node types
+     * @return The CND
+     */
+    public static byte[] createNodeTypes(final int types) {
+        final StringBuilder sb = new StringBuilder("<'fixture'='https://www.adobe.com/fixture'>\n");
+        for(int i = 0; i < types; i++) {
+            sb.append("[fixture:Folder").append(i).append("] > nt:folder\n");
+            sb.append("  - * (undefined) multiple\n");
+            sb.append("  - * (undefined)\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Create a class file
+     * @param className The class name
+     * @param superClassName The super class, {@code null} for {@code java.lang.Object}
+     * @param interfaceNames The implemented interfaces
+     * @return The class file
+     * @throws IOException If creating the class fails
+     */
+    public static byte[] createClass(final String className, final String superClassName, final String... interfaceNames) throws IOException {
+        final ClassPool pool = new ClassPool(true);
+        try {
+            final CtClass superClass = superClassName == null ? pool.get(Object.class.getName()) : pool.makeClass(superClassName);
+            final CtClass cc = pool.makeClass(className, superClass);
+            for(final String name : interfaceNames) {
+                cc.addInterface(pool.makeInterface(name));
+            }
+            return cc.toBytecode();
+        } catch ( final NotFoundException | CannotCompileException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private static Manifest createManifest(final ArtifactId id, final boolean nodeTypes) {
+        final Manifest manifest = new Manifest();
+        final Attributes attrs = manifest.getMainAttributes();
+        attrs.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        attrs.putValue("Bundle-ManifestVersion", "2");
+        attrs.putValue("Bundle-SymbolicName", getPackageName(id));
+        attrs.putValue("Bundle-Version", id.getOSGiVersion().toString());
+        attrs.putValue("Export-Package", getPackageName(id).concat(";version=\"").concat(id.getOSGiVersion().toString()).concat("\""));
+        if ( nodeTypes ) {
+            attrs.putValue("Sling-Nodetypes", RepoInitValidator.SLING_INF_NODE_TYPES.concat("/nodetypes.cnd"));
+        }
+        return manifest;
+    }
+
+    /**
+     * Create a bundle with classes and optionally node type definitions. The first class
+     * implements the {@link #PROVIDER_TYPE}.
+     * @param id The bundle id
+     * @param classes The number of classes
+     * @param nodeTypes The number of node types, {@code 0} for none
+     * @return The bundle
+     * @throws IOException If creating the bundle fails
+     */
+    public static byte[] createBundle(final ArtifactId id, final int classes, final int nodeTypes) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (final ZipOutputStream zos = new ZipOutputStream(out)) {
+            // write the manifest directly to avoid the timestamp of the JarOutputStream
+            final ByteArrayOutputStream manifest = new ByteArrayOutputStream();
+            createManifest(id, nodeTypes > 0).write(manifest);
+            putEntry(zos, JarFile.MANIFEST_NAME, manifest.toByteArray());
+
+            final String pck = getPackageName(id);
+            for(int i = 0; i < classes; i++) {
+                final String className = pck.concat(".Component").concat(String.valueOf(i));
+                putEntry(zos, className.replace('.', '/').concat(".class"),
+                    i == 0 ? createClass(className, null, PROVIDER_TYPE) : createClass(className, null));
+            }
+            if ( nodeTypes > 0 ) {
+                putEntry(zos, RepoInitValidator.SLING_INF_NODE_TYPES.concat("/nodetypes.cnd"), createNodeTypes(nodeTypes));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Create a bundle file
+     * @param file The target file
+     * @param id The bundle id
+     * @param classes The number of classes
+     * @param nodeTypes The number of node types, {@code 0} for none
+     * @throws IOException If creating the bundle fails
+     * @see #createBundle(ArtifactId, int, int)
+     */
+    public static void createBundle(final File file, final ArtifactId id, final int classes, final int nodeTypes) throws IOException {
+        Files.write(file.toPath(), createBundle(id, classes, nodeTypes));
+    }
+
+    /**
+     * Create an API jar containing provider type information like the AEM SDK API jar
+     * @param file The target file
+     * @param providerTypes The provider types
+     * @throws IOException If writing fails
+     */
+    public static void createApiJar(final File file, final List<String> providerTypes) throws IOException {
+        final StringBuilder sb = new StringBuilder("{\"providerTypes\":[");
+        for(int i = 0; i < providerTypes.size(); i++) {
+            if ( i > 0 ) {
+                sb.append(',');
+            }
+            sb.append('"').append(providerTypes.get(i)).append('"');
+        }
+        sb.append("]}");
+        try (final ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(file.toPath()))) {
+            putEntry(zos, "META-INF/api-info.json", sb.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Create a content package containing bundles and configurations for the different runmodes
+     * @param file The target file
+     * @param name The package name
+     * @param bundles The number of bundles
+     * @param classes The number of classes per bundle
+     * @param configurations The number of configurations, distributed over the runmodes
+     * @throws IOException If writing fails
+     */
+    public static void createContentPackage(final File file, final String name, final int bundles,
+            final int classes, final int configurations) throws IOException {
+        final String root = "jcr_root/apps/" + name + "/";
+        try (final ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(file.toPath()))) {
+            putEntry(zos, "META-INF/vault/properties.xml", ("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n"
+                + "<!DOCTYPE properties SYSTEM \"http://java.sun.com/dtd/properties.dtd\">\n"
+                + "<properties>\n"
+                + "<entry key=\"group\">" + GROUP_ID + "</entry>\n"
+                + "<entry key=\"name\">" + name + "</entry>\n"
+                + "<entry key=\"version\">1.0.0</entry>\n"
+                + "<entry key=\"packageType\">mixed</entry>\n"
+                + "</properties>\n").getBytes(StandardCharsets.UTF_8));
+            putEntry(zos, "META-INF/vault/filter.xml", ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<workspaceFilter version=\"1.0\">\n"
+                + "    <filter root=\"/apps/" + name + "\"/>\n"
+                + "</workspaceFilter>\n").getBytes(StandardCharsets.UTF_8));
+
+            int index = 0;
+            for(final ArtifactId id : createBundleIds(name, bundles)) {
+                // the first bundle of each package carries node type definitions
+                putEntry(zos, root + "install/" + id.getArtifactId() + "-" + id.getVersion() + ".jar",
+                    createBundle(id, classes, index == 0 ? 5 : 0));
+                index++;
+            }
+            for(int i = 0; i < configurations; i++) {
+                final String mode = RUNMODES[i % RUNMODES.length];
+                final String folder = mode.startsWith("(") ? "config" : "config.".concat(mode);
+                putEntry(zos, root + "osgiconfig/" + folder + "/" + GROUP_ID + "." + name.replace('-', '_') + ".Component~" + i + ".cfg.json",
+                    ("{\"enabled\":true,\"name\":\"component-" + i + "\",\"url\":\"$[env:FIXTURE_URL;default=http://localhost]\"}")
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /**
+     * Create a set of content packages
+     * @param dir The target directory
+     * @param packages The number of packages
+     * @param bundles The number of bundles per package
+     * @param classes The number of classes per bundle
+     * @param configurations The number of configurations per package
+     * @return The package files, keyed by package id
+     * @throws IOException If writing fails
+     */
+    public static Map<String, File> createContentPackages(final File dir, final int packages, final int bundles,
+            final int classes, final int configurations) throws IOException {
+        dir.mkdirs();
+        final Map<String, File> result = new TreeMap<>();
+        for(int i = 0; i < packages; i++) {
+            final String name = "package-" + i;
+            final File file = new File(dir, name + ".zip");
+            createContentPackage(file, name, bundles, classes, configurations);
+            result.put(GROUP_ID + ":" + name + ":zip:1.0.0", file);
+        }
+        return result;
+    }
+
+    private static void putEntry(final ZipOutputStream zos, final String name, final byte[] content) throws IOException {
+        final ZipEntry entry = new ZipEntry(name);
+        entry.setTime(TIMESTAMP);
+        zos.putNextEntry(entry);
+        zos.write(content);
+        zos.closeEntry();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser.fixtures;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Properties;
+import java.util.jar.JarInputStream;
+
+import org.apache.sling.feature.ArtifactId;
+import org.apache.sling.feature.Feature;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.adobe.aem.analyser.SdkProductVariation;
+
+public class FixtureGeneratorTest {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Test
+    public void testContentPackageIsReproducible() throws Exception {
+        final File first = tempDir.newFile("first.zip");
+        final File second = tempDir.newFile("second.zip");
+        FixtureGenerator.createContentPackage(first, "test", 3, 2, 20);
+        FixtureGenerator.createContentPackage(second, "test", 3, 2, 20);
+
+        assertArrayEquals(Files.readAllBytes(first.toPath()), Files.readAllBytes(second.toPath()));
+    }
+
+    @Test
+    public void testBundle() throws Exception {
+        final ArtifactId id = FixtureGenerator.createBundleIds("test", 1).get(0);
+        final byte[] bundle = FixtureGenerator.createBundle(id, 3, 2);
+        assertArrayEquals(bundle, FixtureGenerator.createBundle(id, 3, 2));
+
+        try (final JarInputStream jis = new JarInputStream(new ByteArrayInputStream(bundle))) {
+            assertNotNull(jis.getManifest());
+            assertEquals(FixtureGenerator.getPackageName(id), jis.getManifest().getMainAttributes().getValue("Bundle-SymbolicName"));
+            int entries = 0;
+            while ( jis.getNextJarEntry() != null ) {
+                entries++;
+            }
+            // three classes and one cnd
+            assertEquals(4, entries);
+        }
+    }
+
+    @Test
+    public void testRunmodeMappings() throws Exception {
+        final Map<String, String> mappings = FixtureGenerator.createRunmodeMappings(30);
+        final File file = tempDir.newFile("runmode.mapping");
+        FixtureGenerator.writeRunmodeMappings(file, mappings);
+
+        final Properties props = new Properties();
+        try (final InputStream is = new FileInputStream(file)) {
+            props.load(is);
+        }
+        assertEquals(mappings, props);
+        assertEquals("feature-0.json,feature-12.json,feature-24.json", props.getProperty("(default)"));
+    }
+
+    @Test
+    public void testProductFeature() {
+        final Feature feature = FixtureGenerator.createProductFeature(SdkProductVariation.AUTHOR, "1.0", 10, 5);
+        assertEquals("aem-author-sdk", feature.getId().getClassifier());
+        assertEquals(10, feature.getBundles().size());
+        assertEquals(5, feature.getConfigurations().size());
+        assertEquals(10, feature.getExtensions().getByName("analyser-metadata").getJSONStructure().asJsonObject().size());
+    }
+}
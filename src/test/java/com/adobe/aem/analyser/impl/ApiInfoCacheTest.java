@@ -0,0 +1,77 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ApiInfoCacheTest {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        final File source = tempDir.newFile("api.jar");
+        Files.write(source.toPath(), "content".getBytes(StandardCharsets.UTF_8));
+
+        final Map<String, Set<String>> sections = new LinkedHashMap<>();
+        sections.put("providerTypes", Set.of("a.B"));
+        sections.put("other", Set.of());
+
+        final ApiInfoCache cache = new ApiInfoCache(new File(tempDir.getRoot(), "cache/api.bin"));
+        assertNull(cache.read(source));
+        cache.write(source, sections);
+        assertTrue(cache.getFile().isFile());
+        assertEquals(sections, cache.read(source));
+    }
+
+    @Test
+    public void testChangedSource() throws Exception {
+        final File source = tempDir.newFile("api.jar");
+        Files.write(source.toPath(), "content".getBytes(StandardCharsets.UTF_8));
+
+        final ApiInfoCache cache = new ApiInfoCache(new File(tempDir.getRoot(), "api.bin"));
+        cache.write(source, Map.of("providerTypes", Set.of("a.B")));
+
+        Files.write(source.toPath(), "changed content".getBytes(StandardCharsets.UTF_8));
+        assertNull(cache.read(source));
+    }
+
+    @Test
+    public void testCorruptFile() throws Exception {
+        final File source = tempDir.newFile("api.jar");
+        final ApiInfoCache cache = new ApiInfoCache(new File(tempDir.getRoot(), "api.bin"));
+        cache.write(source, Map.of("providerTypes", Set.of("a.B")));
+
+        // truncate the file
+        final byte[] content = Files.readAllBytes(cache.getFile().toPath());
+        Files.write(cache.getFile().toPath(), Arrays.copyOf(content, content.length - 2));
+        assertNull(cache.read(source));
+
+        Files.write(cache.getFile().toPath(), "garbage".getBytes(StandardCharsets.UTF_8));
+        assertNull(cache.read(source));
+    }
+}
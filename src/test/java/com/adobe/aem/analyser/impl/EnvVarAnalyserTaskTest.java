@@ -12,6 +12,8 @@
 package com.adobe.aem.analyser.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.apache.sling.feature.ArtifactId;
 import org.apache.sling.feature.Configuration;
@@ -197,4 +199,49 @@ public class EnvVarAnalyserTaskTest {
         Mockito.verify(ctx, Mockito.times(1)).reportConfigurationWarning(Mockito.eq(cfg1), Mockito.anyString());
         Mockito.verifyNoMoreInteractions(ctx);
     }
+
+    @Test public void testValuesWithoutPlaceholder() throws Exception {
+        final AnalyserTaskContext ctx = Mockito.mock(AnalyserTaskContext.class);
+        final Feature f = new Feature(ArtifactId.parse("g:a:1"));
+        Mockito.when(ctx.getFeature()).thenReturn(f);
+
+        final Configuration cfg1 = new Configuration("c1");
+        cfg1.getProperties().put("key1", "INTERNAL_VAR");
+        cfg1.getProperties().put("key2", "$ [env:INTERNAL_VAR]");
+        cfg1.getProperties().put("key3", new String[] {"env:ADOBE_VAR", "$"});
+        f.getConfigurations().add(cfg1);
+
+        final AnalyserTask task = new EnvVarAnalyserTask();
+        task.execute(ctx);
+
+        Mockito.verify(ctx).getFeature();
+        Mockito.verifyNoMoreInteractions(ctx);
+    }
+
+    @Test public void testPlaceholderWithinText() throws Exception {
+        final AnalyserTaskContext ctx = Mockito.mock(AnalyserTaskContext.class);
+        final Feature f = new Feature(ArtifactId.parse("g:a:1"));
+        Mockito.when(ctx.getFeature()).thenReturn(f);
+
+        final Configuration cfg1 = new Configuration("c1");
+        cfg1.getProperties().put("key1", "http://$[env:MY_HOST]:$[env:ADOBE_PORT;default=80]/path");
+        f.getConfigurations().add(cfg1);
+
+        final AnalyserTask task = new EnvVarAnalyserTask();
+        task.execute(ctx);
+
+        Mockito.verify(ctx).getFeature();
+        Mockito.verify(ctx, Mockito.times(1)).reportConfigurationError(Mockito.eq(cfg1), Mockito.anyString());
+        Mockito.verifyNoMoreInteractions(ctx);
+    }
+
+    @Test public void testIsValidName() {
+        assertTrue(EnvVarAnalyserTask.isValidName("MY_VAR", 0));
+        assertTrue(EnvVarAnalyserTask.isValidName("_var1", 0));
+        assertTrue(EnvVarAnalyserTask.isValidName("customer-secrets/FOO", "customer-secrets/".length()));
+        assertFalse(EnvVarAnalyserTask.isValidName("1MY_VAR", 0));
+        assertFalse(EnvVarAnalyserTask.isValidName("MY-VAR", 0));
+        assertFalse(EnvVarAnalyserTask.isValidName("", 0));
+        assertFalse(EnvVarAnalyserTask.isValidName("customer-secrets/", "customer-secrets/".length()));
+    }
 }
@@ -0,0 +1,109 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sling.feature.ArtifactId;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.adobe.aem.analyser.fixtures.FixtureGenerator;
+
+public class ProviderTypeAnalyserTaskTest {
+
+    private static final String ADAPTER_FACTORY = "org.apache.sling.api.adapter.AdapterFactory";
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Test
+    public void testGetProviderTypes() throws Exception {
+        final ProviderTypeAnalyserTask task = new ProviderTypeAnalyserTask();
+        final Set<String> types = Set.of(FixtureGenerator.PROVIDER_TYPE, ADAPTER_FACTORY);
+
+        assertEquals(FixtureGenerator.PROVIDER_TYPE, task.getProviderTypes(types, new ByteArrayInputStream(
+            FixtureGenerator.createClass("a.Provider", null, FixtureGenerator.PROVIDER_TYPE, "java.io.Serializable"))));
+        assertEquals(FixtureGenerator.PROVIDER_TYPE.concat(", ").concat(ADAPTER_FACTORY), task.getProviderTypes(types, new ByteArrayInputStream(
+            FixtureGenerator.createClass("a.Both", null, FixtureGenerator.PROVIDER_TYPE, ADAPTER_FACTORY))));
+        assertEquals("", task.getProviderTypes(types, new ByteArrayInputStream(
+            FixtureGenerator.createClass("a.Plain", "a.Base", "java.lang.Runnable"))));
+    }
+
+    @Test
+    public void testInitializeProviderTypeInfoOncePerSdk() throws Exception {
+        final File apiJar = tempDir.newFile("api.jar");
+        FixtureGenerator.createApiJar(apiJar, List.of(FixtureGenerator.PROVIDER_TYPE));
+        final ArtifactId sdkId = ArtifactId.parse("com.adobe.aem:aem-sdk-api:1.0.0-registry-test");
+
+        assertTrue(ProviderTypeAnalyserTask.initializeProviderTypeInfo(sdkId, apiJar));
+        // the jar is not read again
+        assertTrue(ProviderTypeAnalyserTask.initializeProviderTypeInfo(sdkId, new File(tempDir.getRoot(), "missing.jar")));
+
+        assertFalse(ProviderTypeAnalyserTask.initializeProviderTypeInfo(ArtifactId.parse("com.adobe.aem:aem-sdk-api:0.0.1-registry-test"),
+            new File(tempDir.getRoot(), "missing.jar")));
+    }
+
+    @Test
+    public void testInitializeProviderTypeInfoWritesCache() throws Exception {
+        final File apiJar = tempDir.newFile("cached-api.jar");
+        FixtureGenerator.createApiJar(apiJar, List.of(FixtureGenerator.PROVIDER_TYPE));
+        final File cacheDir = tempDir.newFolder("cache");
+        final ArtifactId sdkId = ArtifactId.parse("com.adobe.aem:aem-sdk-api:1.0.0-cache-test");
+
+        assertTrue(ProviderTypeAnalyserTask.initializeProviderTypeInfo(sdkId, apiJar, cacheDir));
+
+        final ApiInfoCache cache = new ApiInfoCache(ProviderTypeAnalyserTask.getCacheFile(cacheDir, sdkId));
+        assertEquals(Set.of(FixtureGenerator.PROVIDER_TYPE), cache.read(apiJar).get("providerTypes"));
+    }
+
+    @Test
+    public void testRegistryLoadsOnceConcurrently() throws Exception {
+        final ProviderTypeRegistry registry = new ProviderTypeRegistry();
+        final ArtifactId sdkId = ArtifactId.parse("com.adobe.aem:aem-sdk-api:1.0.0");
+        final AtomicInteger loads = new AtomicInteger();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<ProviderTypeRegistry.ProviderTypes>> results = new ArrayList<>();
+            for(int i = 0; i < 32; i++) {
+                results.add(executor.submit(() -> registry.getOrLoad(sdkId, () -> {
+                    loads.incrementAndGet();
+                    return Set.of(FixtureGenerator.PROVIDER_TYPE);
+                })));
+            }
+            final ProviderTypeRegistry.ProviderTypes first = results.get(0).get();
+            for(final Future<ProviderTypeRegistry.ProviderTypes> f : results) {
+                assertSame(first, f.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, loads.get());
+        assertSame(registry.get(sdkId.toMvnId()), registry.getLatest());
+        assertEquals(Set.of(FixtureGenerator.PROVIDER_TYPE), registry.getLatest().getTypes());
+    }
+}
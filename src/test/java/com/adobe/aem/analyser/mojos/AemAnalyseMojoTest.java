@@ -13,6 +13,12 @@
 package com.adobe.aem.analyser.mojos;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
@@ -20,23 +26,45 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.handler.manager.ArtifactHandlerManager;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.project.MavenProject;
 import org.apache.sling.feature.ArtifactId;
+import org.apache.sling.feature.Extension;
+import org.apache.sling.feature.ExtensionState;
+import org.apache.sling.feature.ExtensionType;
+import org.apache.sling.feature.Feature;
 import org.apache.sling.feature.builder.ArtifactProvider;
 import org.apache.sling.feature.io.artifacts.ArtifactManager;
+import org.eclipse.aether.DefaultSessionData;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import com.adobe.aem.analyser.SdkProductVariation;
+import com.adobe.aem.analyser.fixtures.FixtureGenerator;
+import com.adobe.aem.analyser.result.AemAnalyserAnnotation;
+import com.adobe.aem.analyser.result.AemAnalyserResult;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
@@ -151,6 +179,404 @@ public class AemAnalyseMojoTest {
         assertEquals(List.of(packageArtifact), mojo.getContentPackages());
     }
 
+    @Test
+    public void testIncrementalBuildState() throws Exception {
+        File pck = Files.createTempFile(tempDir, "package", ".zip").toFile();
+        Files.write(pck.toPath(), new byte[] {1, 2, 3});
+        Artifact packageArtifact = new DefaultArtifact("group", "artifact", "1.0", null, Constants.PACKAGING_ZIP, null, new DefaultArtifactHandler("zip"));
+        packageArtifact.setFile(pck);
+
+        Build build = Mockito.mock(Build.class);
+        Mockito.when(build.getDirectory()).thenReturn(tempDir.toString());
+        MavenProject prj = Mockito.mock(MavenProject.class);
+        Mockito.when(prj.getBuild()).thenReturn(build);
+
+        AemAnalyseMojo mojo = new TestAnalyseMojo(prj);
+        mojo.analyserTasks = ImmutableList.of("task1");
+        mojo.analyserUserTasks = ImmutableList.of("utask1");
+
+        ArtifactId sdkId = ArtifactId.parse("com.adobe.aem:aem-sdk-api:1.0");
+        List<ArtifactId> addons = List.of(ArtifactId.parse("com.adobe.aem:aem-forms-sdk-api:2.0"));
+
+        // nothing recorded yet
+        assertNull(mojo.getIncrementalBuildState(sdkId, addons, List.of(packageArtifact)).readResult());
+
+        AemAnalyserResult result = new AemAnalyserResult();
+        result.getErrors().add(new AemAnalyserAnnotation("error"));
+        result.getWarnings().add(new AemAnalyserAnnotation("warning"));
+        mojo.getIncrementalBuildState(sdkId, addons, List.of(packageArtifact)).writeResult(result);
+
+        // same inputs
+        AemAnalyserResult previous = mojo.getIncrementalBuildState(sdkId, addons, List.of(packageArtifact)).readResult();
+        assertNotNull(previous);
+        assertEquals(result.getErrors(), previous.getErrors());
+        assertEquals(result.getWarnings(), previous.getWarnings());
+
+        // different sdk
+        assertNull(mojo.getIncrementalBuildState(ArtifactId.parse("com.adobe.aem:aem-sdk-api:1.1"), addons, List.of(packageArtifact)).readResult());
+
+        // different tasks
+        mojo.analyserTasks = ImmutableList.of("task1", "task2");
+        assertNull(mojo.getIncrementalBuildState(sdkId, addons, List.of(packageArtifact)).readResult());
+        mojo.analyserTasks = ImmutableList.of("task1");
+
+        // different package contents
+        Files.write(pck.toPath(), new byte[] {1, 2, 4});
+        assertNull(mojo.getIncrementalBuildState(sdkId, addons, List.of(packageArtifact)).readResult());
+    }
+
+    @Test
+    public void testIncrementalBuildStateWithFailFast() throws Exception {
+        File pck = Files.createTempFile(tempDir, "package", ".zip").toFile();
+        Files.write(pck.toPath(), new byte[] {1, 2, 3});
+        Artifact packageArtifact = new DefaultArtifact("group", "artifact", "1.0", null, Constants.PACKAGING_ZIP, null, new DefaultArtifactHandler("zip"));
+        packageArtifact.setFile(pck);
+
+        Build build = Mockito.mock(Build.class);
+        Mockito.when(build.getDirectory()).thenReturn(tempDir.toString());
+        MavenProject prj = Mockito.mock(MavenProject.class);
+        Mockito.when(prj.getBuild()).thenReturn(build);
+
+        AemAnalyseMojo mojo = new TestAnalyseMojo(prj);
+        mojo.analyserTasks = ImmutableList.of("task1");
+        mojo.analyserUserTasks = ImmutableList.of("utask1");
+        mojo.failFast = true;
+        mojo.failOnAnalyserErrors = true;
+        mojo.strictValidation = true;
+
+        ArtifactId sdkId = ArtifactId.parse("com.adobe.aem:aem-sdk-api:1.0");
+        List<ArtifactId> addons = Collections.emptyList();
+
+        // the partial result of a run stopped at the first warning
+        AemAnalyserResult result = new AemAnalyserResult();
+        result.getWarnings().add(new AemAnalyserAnnotation("first warning"));
+        mojo.getIncrementalBuildState(sdkId, addons, List.of(packageArtifact)).writeResult(result);
+        assertNotNull(mojo.getIncrementalBuildState(sdkId, addons, List.of(packageArtifact)).readResult());
+
+        // without strict validation the run would not stop at the warning
+        mojo.strictValidation = false;
+        assertNull(mojo.getIncrementalBuildState(sdkId, addons, List.of(packageArtifact)).readResult());
+        mojo.strictValidation = true;
+
+        // fail-fast is not active if errors don't fail the build
+        mojo.failOnAnalyserErrors = false;
+        assertNull(mojo.getIncrementalBuildState(sdkId, addons, List.of(packageArtifact)).readResult());
+
+        // without fail-fast the other settings don't change the analysis
+        mojo.failFast = false;
+        mojo.getIncrementalBuildState(sdkId, addons, List.of(packageArtifact)).writeResult(result);
+        mojo.strictValidation = false;
+        mojo.failOnAnalyserErrors = true;
+        assertNotNull(mojo.getIncrementalBuildState(sdkId, addons, List.of(packageArtifact)).readResult());
+    }
+
+    @Test
+    public void testStageOutputsAreReused() throws Exception {
+        File pck = Files.createTempFile(tempDir, "package", ".zip").toFile();
+        Files.write(pck.toPath(), new byte[] {1, 2, 3});
+        Artifact packageArtifact = new DefaultArtifact("group", "artifact", "1.0", null, Constants.PACKAGING_ZIP, null, new DefaultArtifactHandler("zip"));
+        packageArtifact.setFile(pck);
+
+        // the author feature of the sdk is attached to the project
+        File sdkFeature = Files.createTempFile(tempDir, "aem-author-sdk", ".json").toFile();
+        Files.write(sdkFeature.toPath(), "{}".getBytes());
+        Artifact sdkFeatureArtifact = new DefaultArtifact("com.adobe.aem", "aem-sdk-api", "1.0", null, "slingosgifeature",
+            SdkProductVariation.AUTHOR.getSdkClassifier(), new DefaultArtifactHandler("slingosgifeature"));
+        sdkFeatureArtifact.setFile(sdkFeature);
+
+        Build build = Mockito.mock(Build.class);
+        Mockito.when(build.getDirectory()).thenReturn(tempDir.toString());
+        MavenProject prj = Mockito.mock(MavenProject.class);
+        Mockito.when(prj.getBuild()).thenReturn(build);
+        Mockito.when(prj.getAttachedArtifacts()).thenReturn(List.of(sdkFeatureArtifact));
+
+        AemAnalyseMojo mojo = new TestAnalyseMojo(prj);
+        ArtifactId sdkId = ArtifactId.parse("com.adobe.aem:aem-sdk-api:1.0");
+        ArtifactId aggregateId = ArtifactId.parse("group:artifact:slingosgifeature:user-aggregated-author:1.0");
+
+        // nothing recorded yet
+        assertFalse(mojo.isTrackingStages());
+        IncrementalBuildState conversionState = mojo.getConversionState(List.of(packageArtifact));
+        assertNull(mojo.getReusableOutputs(conversionState));
+        mojo.recordOutputs(conversionState, Collections.singletonMap("cp-conversion", "fm.out"));
+        assertTrue(mojo.isTrackingStages());
+        assertNotNull(mojo.getReusableOutputs(mojo.getConversionState(List.of(packageArtifact))));
+
+        // the aggregates are only reused if all of them exist
+        IncrementalBuildState aggregationState = mojo.getAggregationState(sdkId, Collections.emptyList(), conversionState);
+        mojo.recordAggregates(aggregationState, List.of(aggregateId), Collections.singletonMap(aggregateId.toMvnId(), "USER(key)"));
+        assertNull(mojo.getRecordedAggregates(mojo.getAggregationState(sdkId, Collections.emptyList(), conversionState)));
+        File aggregate = tempDir.resolve("cp-conversion").resolve("fm.out").resolve("user-aggregated-author.json").toFile();
+        aggregate.getParentFile().mkdirs();
+        Files.write(aggregate.toPath(), "{}".getBytes());
+        assertEquals(Collections.singletonMap("user-aggregated-author", "USER(key)"),
+            mojo.getRecordedAggregates(mojo.getAggregationState(sdkId, Collections.emptyList(), conversionState)));
+
+        // a different sdk requires a new aggregation
+        assertNull(mojo.getRecordedAggregates(mojo.getAggregationState(ArtifactId.parse("com.adobe.aem:aem-sdk-api:1.1"),
+            Collections.emptyList(), conversionState)));
+
+        // an updated feature of the same sdk requires a new aggregation
+        Files.write(sdkFeature.toPath(), "{ }".getBytes());
+        assertNull(mojo.getRecordedAggregates(mojo.getAggregationState(sdkId, Collections.emptyList(), conversionState)));
+
+        // a later build only reuses the outputs for incremental builds
+        AemAnalyseMojo laterMojo = new TestAnalyseMojo(prj);
+        assertFalse(laterMojo.isTrackingStages());
+        assertNull(laterMojo.getReusableOutputs(laterMojo.getConversionState(List.of(packageArtifact))));
+        laterMojo.incremental = true;
+        assertNotNull(laterMojo.getReusableOutputs(laterMojo.getConversionState(List.of(packageArtifact))));
+
+        // different package contents
+        Files.write(pck.toPath(), new byte[] {1, 2, 4});
+        assertNull(laterMojo.getReusableOutputs(laterMojo.getConversionState(List.of(packageArtifact))));
+    }
+
+    @Test
+    public void testPluginFingerprint() throws Exception {
+        File jar = Files.createTempFile(tempDir, "plugin", ".jar").toFile();
+        Files.write(jar.toPath(), new byte[] {1, 2, 3});
+        Artifact pluginArtifact = new DefaultArtifact("com.adobe.aem", "aemanalyser-maven-plugin", "1.0-SNAPSHOT", null, "maven-plugin", null, new DefaultArtifactHandler("jar"));
+        pluginArtifact.setFile(jar);
+        PluginDescriptor plugin = new PluginDescriptor();
+        plugin.setGroupId("com.adobe.aem");
+        plugin.setArtifactId("aemanalyser-maven-plugin");
+        plugin.setVersion("1.0-SNAPSHOT");
+
+        AemAnalyseMojo mojo = new TestAnalyseMojo(Mockito.mock(MavenProject.class));
+        assertNull(mojo.getPluginFingerprint());
+        mojo.plugin = plugin;
+        assertEquals(plugin.getId(), mojo.getPluginFingerprint());
+
+        // a rebuilt snapshot of the plugin has a different fingerprint
+        plugin.setPluginArtifact(pluginArtifact);
+        String fingerprint = mojo.getPluginFingerprint();
+        assertTrue(fingerprint.startsWith(plugin.getId()));
+        Files.write(jar.toPath(), new byte[] {1, 2, 3, 4});
+        assertNotEquals(fingerprint, mojo.getPluginFingerprint());
+    }
+
+    @Test
+    public void testGetOrResolveArtifact() throws Exception {
+        File jar = Files.createTempFile(tempDir, "test", ".jar").toFile();
+        File classifiedJar = Files.createTempFile(tempDir, "test", ".jar").toFile();
+
+        List<Artifact> attached = new ArrayList<>();
+        Artifact a = new DefaultArtifact("a", "b", "123", null, "jar", null, new DefaultArtifactHandler("jar"));
+        a.setFile(jar);
+        attached.add(a);
+
+        MavenProject prj = Mockito.mock(MavenProject.class);
+        Mockito.when(prj.getAttachedArtifacts()).thenReturn(attached);
+        Mockito.when(prj.getArtifacts()).thenReturn(Collections.emptySet());
+
+        AemAnalyseMojo mojo = new TestAnalyseMojo(prj);
+        mojo.artifactHandlerManager = Mockito.mock(ArtifactHandlerManager.class);
+        mojo.repoSystem = Mockito.mock(RepositorySystem.class);
+        Mockito.when(mojo.repoSystem.resolveArtifact(Mockito.any(), Mockito.any()))
+            .thenThrow(new ArtifactResolutionException(Collections.emptyList()));
+
+        assertEquals(jar, mojo.getOrResolveArtifact(ArtifactId.fromMvnId("a:b:123")).getFile());
+
+        // artifacts attached later are found as well
+        Artifact c = new DefaultArtifact("a", "b", "123", null, "jar", "c", new DefaultArtifactHandler("jar"));
+        c.setFile(classifiedJar);
+        attached.add(c);
+        assertEquals(classifiedJar, mojo.getOrResolveArtifact(ArtifactId.fromMvnId("a:b:jar:c:123")).getFile());
+
+        // a failed resolution is only tried once
+        for(int i = 0; i < 2; i++) {
+            try {
+                mojo.getOrResolveArtifact(ArtifactId.fromMvnId("a:b:456"));
+                fail();
+            } catch (final RuntimeException expected) {
+                assertTrue(expected.getCause() instanceof ArtifactResolutionException);
+            }
+        }
+        Mockito.verify(mojo.repoSystem, Mockito.times(1)).resolveArtifact(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testArtifactIndexWithNewViews() throws Exception {
+        List<Artifact> attached = new ArrayList<>();
+        Artifact a = new DefaultArtifact("a", "b", "123", null, "jar", null, new DefaultArtifactHandler("jar"));
+        a.setFile(Files.createTempFile(tempDir, "test", ".jar").toFile());
+        attached.add(a);
+
+        // the project might return a new unmodifiable view for every call
+        AbstractAemMojo.ArtifactIndex index = new AbstractAemMojo.ArtifactIndex();
+        assertEquals(a, index.find(ArtifactId.fromMvnId("a:b:123"), Collections.unmodifiableList(attached)));
+        assertNull(index.find(ArtifactId.fromMvnId("a:c:123"), Collections.unmodifiableList(attached)));
+        assertEquals(1, index.getBuilds());
+
+        // an attached artifact changes the view
+        Artifact c = new DefaultArtifact("a", "c", "123", null, "jar", null, new DefaultArtifactHandler("jar"));
+        c.setFile(Files.createTempFile(tempDir, "test", ".jar").toFile());
+        attached.add(c);
+        assertEquals(c, index.find(ArtifactId.fromMvnId("a:c:123"), Collections.unmodifiableList(attached)));
+        assertEquals(2, index.getBuilds());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testPrefetchArtifacts() throws Exception {
+        File jar = Files.createTempFile(tempDir, "test", ".jar").toFile();
+
+        Feature feature = new Feature(ArtifactId.parse("g:f:slingosgifeature:aggregated-author:1"));
+        feature.getBundles().add(new org.apache.sling.feature.Artifact(ArtifactId.parse("g:a:1")));
+        feature.getBundles().add(new org.apache.sling.feature.Artifact(ArtifactId.parse("g:b:1")));
+        feature.getBundles().add(new org.apache.sling.feature.Artifact(ArtifactId.parse("g:c:1")));
+        Extension metadata = new Extension(ExtensionType.JSON, Constants.ANALYSER_METADATA_EXTENSION, ExtensionState.OPTIONAL);
+        metadata.setJSON("{\"g:b:1\":{\"manifest\":{\"Bundle-SymbolicName\":\"b\"}}}");
+        feature.getExtensions().add(metadata);
+
+        MavenProject prj = Mockito.mock(MavenProject.class);
+        AemAnalyseMojo mojo = new TestAnalyseMojo(prj);
+        mojo.artifactHandlerManager = Mockito.mock(ArtifactHandlerManager.class);
+        mojo.repoSystem = Mockito.mock(RepositorySystem.class);
+        Mockito.when(mojo.repoSystem.resolveArtifacts(Mockito.any(), Mockito.any())).thenAnswer(inv -> {
+            List<ArtifactResult> results = new ArrayList<>();
+            for(ArtifactRequest req : inv.<Collection<ArtifactRequest>>getArgument(1)) {
+                ArtifactResult result = new ArtifactResult(req);
+                result.setArtifact(req.getArtifact().setFile(jar));
+                results.add(result);
+            }
+            return results;
+        });
+        ArtifactManager artifactManager = Mockito.mock(ArtifactManager.class);
+        Mockito.when(artifactManager.provide(ArtifactId.parse("g:c:1"))).thenReturn(jar.toURI().toURL());
+
+        mojo.prefetchArtifacts(List.of(feature), artifactManager);
+
+        // only the bundle without metadata which is not provided locally is resolved
+        ArgumentCaptor<Collection<ArtifactRequest>> requests = ArgumentCaptor.forClass(Collection.class);
+        Mockito.verify(mojo.repoSystem).resolveArtifacts(Mockito.any(), requests.capture());
+        assertEquals(1, requests.getValue().size());
+        assertEquals("g:a:jar:1", requests.getValue().iterator().next().getArtifact().toString());
+
+        assertEquals(jar, mojo.getOrResolveArtifact(ArtifactId.parse("g:a:1")).getFile());
+        Mockito.verify(mojo.repoSystem, Mockito.never()).resolveArtifact(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testGetOrResolveFeatureIsCached() throws Exception {
+        File featureFile = Files.createTempFile(tempDir, "feature", ".json").toFile();
+        Files.writeString(featureFile.toPath(), "{\"id\":\"g:f:slingosgifeature:c:1\",\"bundles\":[\"g:a:1\"]}");
+
+        Artifact a = new DefaultArtifact("g", "f", "1", null, "slingosgifeature", "c", new DefaultArtifactHandler("slingosgifeature"));
+        a.setFile(featureFile);
+        MavenProject prj = Mockito.mock(MavenProject.class);
+        Mockito.when(prj.getAttachedArtifacts()).thenReturn(List.of(a));
+
+        RepositorySystemSession session = Mockito.mock(RepositorySystemSession.class);
+        Mockito.when(session.getData()).thenReturn(new DefaultSessionData());
+
+        AemAnalyseMojo mojo = new TestAnalyseMojo(prj);
+        mojo.repoSession = session;
+        AemAnalyseMojo otherMojo = new TestAnalyseMojo(prj);
+        otherMojo.repoSession = session;
+
+        ArtifactId id = ArtifactId.parse("g:f:slingosgifeature:c:1");
+        Feature feature = mojo.getOrResolveFeature(id);
+        assertEquals(1, feature.getBundles().size());
+
+        // changes to a returned feature are not visible to other callers
+        feature.getBundles().clear();
+        assertEquals(1, otherMojo.getOrResolveFeature(id).getBundles().size());
+
+        // caches are shared within the session
+        mojo.getSessionCache("test").put("key", "value");
+        assertEquals("value", otherMojo.getSessionCache("test").get("key"));
+
+        // a changed file is read again
+        Files.writeString(featureFile.toPath(), "{\"id\":\"g:f:slingosgifeature:c:1\",\"bundles\":[\"g:a:1\",\"g:b:1\"]}");
+        assertEquals(2, mojo.getOrResolveFeature(id).getBundles().size());
+    }
+
+    @Test
+    public void testGoalChain() throws Exception {
+        final String version = "1.48.0";
+        final File target = tempDir.resolve("target").toFile();
+        final File pck = tempDir.resolve("package.zip").toFile();
+        FixtureGenerator.createContentPackage(pck, "package-0", 2, 2, 2);
+
+        // the SDK features and API jar are attached to the project
+        final List<Artifact> attached = new ArrayList<>();
+        for(final SdkProductVariation variation : SdkProductVariation.values()) {
+            final File featureFile = tempDir.resolve(variation.getSdkClassifier() + ".json").toFile();
+            FixtureGenerator.writeFeature(featureFile, FixtureGenerator.createProductFeature(variation, version, 3, 2));
+            final Artifact feature = new DefaultArtifact("com.adobe.aem", "aem-sdk-api", version, null, "slingosgifeature",
+                variation.getSdkClassifier(), new DefaultArtifactHandler("slingosgifeature"));
+            feature.setFile(featureFile);
+            attached.add(feature);
+        }
+        final File apiJar = tempDir.resolve("aem-sdk-api.jar").toFile();
+        FixtureGenerator.createApiJar(apiJar, List.of(FixtureGenerator.PROVIDER_TYPE));
+        final Artifact api = new DefaultArtifact("com.adobe.aem", "aem-sdk-api", version, null, "jar", null, new DefaultArtifactHandler("jar"));
+        api.setFile(apiJar);
+        attached.add(api);
+
+        final Artifact projectArtifact = new DefaultArtifact("g", "a", "1", null, Constants.PACKAGING_CONTENT_PACKAGE, null, new ContentPackageArtifactHandler());
+        projectArtifact.setFile(pck);
+        final Dependency sdk = new Dependency();
+        sdk.setGroupId("com.adobe.aem");
+        sdk.setArtifactId("aem-sdk-api");
+        sdk.setVersion(version);
+
+        final Build build = Mockito.mock(Build.class);
+        Mockito.when(build.getDirectory()).thenReturn(target.getAbsolutePath());
+        final MavenProject prj = Mockito.mock(MavenProject.class);
+        Mockito.when(prj.getBuild()).thenReturn(build);
+        Mockito.when(prj.getGroupId()).thenReturn("g");
+        Mockito.when(prj.getArtifactId()).thenReturn("a");
+        Mockito.when(prj.getVersion()).thenReturn("1");
+        Mockito.when(prj.getPackaging()).thenReturn(Constants.PACKAGING_CONTENT_PACKAGE);
+        Mockito.when(prj.getArtifact()).thenReturn(projectArtifact);
+        Mockito.when(prj.getAttachedArtifacts()).thenReturn(attached);
+        Mockito.when(prj.getArtifacts()).thenReturn(Collections.emptySet());
+        Mockito.when(prj.getDependencies()).thenReturn(List.of(sdk));
+
+        final RepositorySystemSession session = Mockito.mock(RepositorySystemSession.class);
+        Mockito.when(session.getData()).thenReturn(new DefaultSessionData());
+        // offline, the SDK version can't be checked which results in a version warning
+        final MavenSession mavenSession = Mockito.mock(MavenSession.class);
+        Mockito.when(mavenSession.isOffline()).thenReturn(true);
+        final PluginDescriptor plugin = new PluginDescriptor();
+        plugin.setGroupId("com.adobe.aem");
+        plugin.setArtifactId("aemanalyser-maven-plugin");
+        plugin.setVersion("1.0");
+
+        final List<AemAnalyseMojo> mojos = List.of(new ConvertPackagesMojo(), new AggregateFeaturesMojo(), new AemAnalyseMojo());
+        for(final AemAnalyseMojo mojo : mojos) {
+            mojo.project = prj;
+            mojo.repoSession = session;
+            mojo.repoSystem = Mockito.mock(RepositorySystem.class);
+            mojo.mavenSession = mavenSession;
+            mojo.plugin = plugin;
+            mojo.analyserTasks = List.of("bundle-packages");
+            mojo.analyserUserTasks = Collections.emptyList();
+            mojo.failOnAnalyserErrors = true;
+            mojo.strictVersionValidation = true;
+        }
+
+        mojos.get(0).execute();
+        assertTrue(new File(target, Constants.CONVERTER_DIRECTORY + "/" + Constants.FM_DIRECTORY).isDirectory());
+
+        // the version warning does not fail the aggregation
+        mojos.get(1).execute();
+        assertTrue(new File(target, Constants.CONVERTER_DIRECTORY + "/" + Constants.FM_DIRECTORY + "/aggregated-author.json").isFile());
+
+        // but the analysis
+        try {
+            mojos.get(2).execute();
+            fail();
+        } catch (final MojoFailureException expected) {
+            // expected
+        }
+        mojos.get(2).strictVersionValidation = false;
+        mojos.get(2).execute();
+    }
+
     // copied from https://github.com/apache/jackrabbit-filevault-package-maven-plugin/blob/filevault-package-maven-plugin-1.4.0/src/main/java/org/apache/jackrabbit/filevault/maven/packaging/impl/extensions/ContentPackageArtifactHandler.java
     private static final class ContentPackageArtifactHandler extends DefaultArtifactHandler {
         public ContentPackageArtifactHandler() {
@@ -0,0 +1,65 @@
+/*
+  Copyright 2026 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.aem.analyser.mojos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class RetainedCachesTest {
+
+    private static final Object KEY = new Object();
+
+    @After
+    public void tearDown() {
+        RetainedCaches.clear();
+    }
+
+    @Test public void testCachesAreKeptForTheSameSdk() {
+        final Object build1 = new Object();
+        assertTrue(RetainedCaches.use("sdk:1", build1).isEmpty());
+        final Map<String, String> cache = RetainedCaches.getCache("sdk:1", KEY);
+        cache.put("a", "b");
+
+        // a later build with the same sdk finds the cache
+        final Object build2 = new Object();
+        assertTrue(RetainedCaches.use("sdk:1", build2).isEmpty());
+        assertSame(cache, RetainedCaches.getCache("sdk:1", KEY));
+    }
+
+    @Test public void testCachesOfUnusedSdksAreDropped() {
+        final Object build1 = new Object();
+        RetainedCaches.use("sdk:1", build1);
+        final Map<String, String> cache = RetainedCaches.getCache("sdk:1", KEY);
+
+        // the modules of a build might use different sdks
+        assertTrue(RetainedCaches.use("sdk:2", build1).isEmpty());
+        assertEquals(new TreeSet<>(Arrays.asList("sdk:1", "sdk:2")), RetainedCaches.getSdkIds());
+
+        // a later build only using the second sdk drops the first one
+        final Object build2 = new Object();
+        assertEquals(Collections.singletonList("sdk:1"), RetainedCaches.use("sdk:2", build2));
+        assertEquals(Collections.singleton("sdk:2"), RetainedCaches.getSdkIds());
+
+        RetainedCaches.use("sdk:1", build2);
+        assertNotSame(cache, RetainedCaches.getCache("sdk:1", KEY));
+    }
+}
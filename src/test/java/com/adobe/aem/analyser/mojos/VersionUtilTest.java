@@ -13,15 +13,29 @@
 package com.adobe.aem.analyser.mojos;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.handler.manager.ArtifactHandlerManager;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.DependencyManagement;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
 import org.apache.sling.feature.ArtifactId;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.VersionResult;
 import org.junit.Test;
 import org.mockito.Mockito;
 
@@ -90,6 +104,91 @@ public class VersionUtilTest {
         util.getSDKArtifactId(Constants.SDK_ARTIFACT_ID, null, false);
     }
 
+    @Test
+    public void testGetLatestVersionIsCached() throws Exception {
+        final Path localRepo = Files.createTempDirectory("local-repo");
+        try {
+            final MavenProject prj = Mockito.mock(MavenProject.class);
+            Mockito.when(prj.getRemoteProjectRepositories()).thenReturn(List.of(
+                new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2").build()));
+            final ArtifactHandlerManager handlerManager = Mockito.mock(ArtifactHandlerManager.class);
+            Mockito.when(handlerManager.getArtifactHandler("jar")).thenReturn(new DefaultArtifactHandler("jar"));
+            final RepositorySystem repoSystem = Mockito.mock(RepositorySystem.class);
+            Mockito.when(repoSystem.resolveVersion(Mockito.any(), Mockito.any())).thenAnswer(inv ->
+                new VersionResult(inv.getArgument(1)).setVersion("2.0"));
+
+            final Dependency dep = new Dependency();
+            dep.setGroupId("com.adobe.aem");
+            dep.setArtifactId("aem-sdk-api");
+            dep.setVersion("1.0");
+
+            final File cacheFile = new File(localRepo.toFile(), Constants.VERSION_CACHE_FILE);
+            final Map<String, String> sessionVersions = new ConcurrentHashMap<>();
+
+            // first lookup goes to the repository
+            VersionUtil util = new VersionUtil(Mockito.mock(Log.class), prj, handlerManager, repoSystem, null, false);
+            util.setSessionVersions(sessionVersions);
+            util.setVersionCache(new VersionCache(cacheFile, 60, TimeUnit.MINUTES));
+            assertEquals("2.0", util.getLatestVersion(dep));
+            assertTrue(cacheFile.isFile());
+
+            // same session
+            util = new VersionUtil(Mockito.mock(Log.class), prj, handlerManager, repoSystem, null, false);
+            util.setSessionVersions(sessionVersions);
+            assertEquals("2.0", util.getLatestVersion(dep));
+
+            // new session, disk cache
+            util = new VersionUtil(Mockito.mock(Log.class), prj, handlerManager, repoSystem, null, false);
+            util.setSessionVersions(new ConcurrentHashMap<>());
+            util.setVersionCache(new VersionCache(cacheFile, 60, TimeUnit.MINUTES));
+            assertEquals("2.0", util.getLatestVersion(dep));
+            Mockito.verify(repoSystem, Mockito.times(1)).resolveVersion(Mockito.any(), Mockito.any());
+
+            // new session, expired disk cache
+            util = new VersionUtil(Mockito.mock(Log.class), prj, handlerManager, repoSystem, null, false);
+            util.setSessionVersions(new ConcurrentHashMap<>());
+            util.setVersionCache(new VersionCache(cacheFile, 0, TimeUnit.MINUTES));
+            assertEquals("2.0", util.getLatestVersion(dep));
+            Mockito.verify(repoSystem, Mockito.times(2)).resolveVersion(Mockito.any(), Mockito.any());
+        } finally {
+            Files.walk(localRepo)
+                .sorted(Comparator.reverseOrder())
+                .map(Path::toFile)
+                .forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testPrefetchLatestVersions() throws Exception {
+        final Dependency sdkDep = new Dependency();
+        sdkDep.setGroupId(Constants.SDK_GROUP_ID);
+        sdkDep.setArtifactId(Constants.SDK_ARTIFACT_ID);
+        sdkDep.setVersion("1.0");
+        final DependencyManagement depMgmt = new DependencyManagement();
+        depMgmt.addDependency(sdkDep);
+
+        final MavenProject prj = Mockito.mock(MavenProject.class);
+        Mockito.when(prj.getDependencyManagement()).thenReturn(depMgmt);
+        final ArtifactHandlerManager handlerManager = Mockito.mock(ArtifactHandlerManager.class);
+        Mockito.when(handlerManager.getArtifactHandler(Mockito.anyString())).thenReturn(new DefaultArtifactHandler("jar"));
+        final RepositorySystem repoSystem = Mockito.mock(RepositorySystem.class);
+        Mockito.when(repoSystem.resolveVersion(Mockito.any(), Mockito.any())).thenAnswer(inv ->
+            new VersionResult(inv.getArgument(1)).setVersion("2.0"));
+
+        final VersionUtil util = new VersionUtil(Mockito.mock(Log.class), prj, handlerManager, repoSystem, null, false);
+        util.prefetchLatestVersions("com.adobe.aem", "aemanalyser-maven-plugin", null, null, Collections.emptyList(), false);
+        Mockito.verify(repoSystem, Mockito.times(2)).resolveVersion(Mockito.any(), Mockito.any());
+
+        util.checkPluginVersion("com.adobe.aem", "aemanalyser-maven-plugin", "1.0");
+        assertEquals("2.0", util.getSDKArtifactId(null, null, false).getVersion());
+        Mockito.verify(repoSystem, Mockito.times(2)).resolveVersion(Mockito.any(), Mockito.any());
+
+        // warnings are in the order of the checks
+        assertEquals(4, util.getVersionWarnings().size());
+        assertTrue(util.getVersionWarnings().get(0).contains("plugin"));
+        assertTrue(util.getVersionWarnings().get(2).contains("SDK"));
+    }
+
     private static class TestVersionUtil extends VersionUtil {
         private TestVersionUtil(final MavenProject prj) {
             super(Mockito.mock(Log.class), prj, null, null, null, false);